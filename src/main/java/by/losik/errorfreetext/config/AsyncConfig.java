@@ -3,6 +3,7 @@ package by.losik.errorfreetext.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -11,21 +12,45 @@ import java.util.concurrent.Executor;
 @Configuration
 @EnableAsync
 public class AsyncConfig {
-    @Value("${app.executor.core-pool-size}")
-    int corePoolSize;
     @Value("${app.executor.max-pool-size}")
     int maxPoolSize;
-    @Value("${app.executor.queue-capacity}")
-    int queueCapacity;
+    @Value("${app.executor.mode:PLATFORM}")
+    ExecutorMode mode;
+    @Value("${app.executor.max-concurrency:200}")
+    int maxConcurrency;
+    @Value("${app.executor.acquire-timeout:100}")
+    long acquireTimeout;
 
     @Bean("taskExecutor")
-    public Executor taskExecutor() {
+    public BoundedTaskExecutor taskExecutor() {
+        if (mode == ExecutorMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("task-processor-");
+            virtualExecutor.setVirtualThreads(true);
+            return new BoundedTaskExecutor(virtualExecutor, maxConcurrency, acquireTimeout);
+        }
+
+        // The permits never let more than max-pool-size tasks in, so every task gets a thread and the queue stays empty
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(corePoolSize);
+        executor.setCorePoolSize(maxPoolSize);
         executor.setMaxPoolSize(maxPoolSize);
-        executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix("task-processor-");
         executor.initialize();
+        return new BoundedTaskExecutor(executor, maxPoolSize, acquireTimeout);
+    }
+
+    @Bean("spellerExecutor")
+    public Executor spellerExecutor(YandexSpellerConfig spellerConfig) {
+        int poolSize = spellerConfig.getBatch().getPoolSize();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("speller-batch-");
+        executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    public enum ExecutorMode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
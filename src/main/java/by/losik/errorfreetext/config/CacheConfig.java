@@ -1,5 +1,7 @@
 package by.losik.errorfreetext.config;
 
+import by.losik.errorfreetext.service.ChunkResultCache;
+import by.losik.errorfreetext.service.CorrectionResultCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +42,21 @@ public class CacheConfig {
                 .recordStats()
                 .build());
 
+        cacheManager.registerCustomCache(CorrectionResultCache.CACHE_NAME, Caffeine.newBuilder()
+                .initialCapacity(100)
+                .maximumWeight(20_000_000)
+                .weigher((Object key, Object value) -> ((String) value).length())
+                .expireAfterAccess(6, TimeUnit.HOURS)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(ChunkResultCache.CACHE_NAME, Caffeine.newBuilder()
+                .initialCapacity(1000)
+                .maximumSize(50_000)
+                .expireAfterAccess(6, TimeUnit.HOURS)
+                .recordStats()
+                .build());
+
         return cacheManager;
     }
 
@@ -1,27 +1,93 @@
 package by.losik.errorfreetext.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String SPELLER_POOL_NAME = "yandex-speller";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.yandex-speller.http.client", havingValue = "APACHE", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager spellerConnectionManager(YandexSpellerConfig config,
+                                                                       MeterRegistry meterRegistry) {
+        YandexSpellerConfig.Http http = config.getHttp();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(config.getRequestTimeout()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(config.getRequestTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(http.getConnectionTtlMs()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(http.getValidateAfterInactivityMs()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, SPELLER_POOL_NAME)
+                .bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.yandex-speller.http.client", havingValue = "APACHE", matchIfMissing = true)
+    public CloseableHttpClient spellerHttpClient(PoolingHttpClientConnectionManager spellerConnectionManager,
+                                                 YandexSpellerConfig config) {
+        YandexSpellerConfig.Http http = config.getHttp();
+
+        return HttpClients.custom()
+                .setConnectionManager(spellerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getRequestTimeout()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(config.getRequestTimeout()))
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(http.getKeepAliveMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(http.getIdleEvictionMs()))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(YandexSpellerConfig config) {
+    public RestTemplate restTemplate(YandexSpellerConfig config, ObjectProvider<CloseableHttpClient> spellerHttpClient) {
+        ClientHttpRequestFactory requestFactory = config.getHttp().getClient() == YandexSpellerConfig.Client.JDK
+                ? jdkRequestFactory(config)
+                : new HttpComponentsClientHttpRequestFactory(spellerHttpClient.getObject());
+
         return new RestTemplateBuilder()
-                .setConnectTimeout(Duration.ofMillis(config.getRequestTimeout()))
-                .setReadTimeout(Duration.ofMillis(config.getRequestTimeout()))
-                .requestFactory(() -> {
-                    SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-                    factory.setConnectTimeout(config.getRequestTimeout());
-                    factory.setReadTimeout(config.getRequestTimeout());
-                    return factory;
-                })
+                .requestFactory(() -> requestFactory)
                 .build();
     }
-}
\ No newline at end of file
+
+    private ClientHttpRequestFactory jdkRequestFactory(YandexSpellerConfig config) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(config.getRequestTimeout()))
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(config.getRequestTimeout());
+        return factory;
+    }
+}
@@ -12,5 +12,48 @@ import org.springframework.context.annotation.Configuration;
 public class YandexSpellerConfig {
     private String baseUrl = "https://speller.yandex.net/services/spellservice.json";
     private int maxTextLength = 10000;
+    private int maxPostTextLength = 50000;
     private int requestTimeout = 5000;
-}
\ No newline at end of file
+    private Transport transport = Transport.POST;
+    private Batch batch = new Batch();
+    private Http http = new Http();
+
+    public int getMaxRequestChars() {
+        return transport == Transport.POST ? maxPostTextLength : maxTextLength;
+    }
+
+    public enum Transport {
+        GET,
+        POST
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private boolean enabled = true;
+        private int maxTexts = 50;
+        private int maxChars = 10000;
+        private long lingerMs = 5;
+        private int poolSize = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+        private Client client = Client.APACHE;
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+        private long keepAliveMs = 30000;
+        private long idleEvictionMs = 10000;
+        private long connectionTtlMs = 300000;
+        private long validateAfterInactivityMs = 2000;
+        private boolean async = false;
+        private int asyncThreads = 4;
+        private int asyncMaxInFlight = 50;
+    }
+
+    public enum Client {
+        APACHE,
+        JDK
+    }
+}
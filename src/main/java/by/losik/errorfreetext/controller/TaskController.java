@@ -1,24 +1,55 @@
 package by.losik.errorfreetext.controller;
 
 import by.losik.errorfreetext.dto.TaskDto;
+import by.losik.errorfreetext.exception.TaskBatchTooLargeException;
+import by.losik.errorfreetext.service.SyncCorrectionService;
 import by.losik.errorfreetext.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 @Slf4j
 @Tag(name = "Tasks", description = "API для управления задачами коррекции текста")
@@ -27,7 +58,22 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final long ASYNC_TIMEOUT_MARGIN_MS = 5000;
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final TaskService taskService;
+    private final SyncCorrectionService syncCorrectionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.tasks.long-poll.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    @Value("${app.tasks.sse.timeout-ms:60000}")
+    private long sseTimeoutMs;
+
+    @Value("${app.tasks.batch.max-body-size:10MB}")
+    private DataSize maxBatchBodySize;
 
     @Operation(
             summary = "Создать задачу коррекции",
@@ -48,6 +94,110 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            summary = "Исправить короткий текст синхронно",
+            description = "Исправляет короткий текст в рамках запроса, если есть свободная емкость; "
+                    + "иначе ставит задачу в очередь и возвращает только ее идентификатор"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Текст исправлен, задача сохранена"),
+            @ApiResponse(responseCode = "202", description = "Задача поставлена в очередь"),
+            @ApiResponse(responseCode = "40002", description = "Невалидные данные"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @PostMapping(params = "mode=sync")
+    public ResponseEntity<?> createTaskSync(
+            @Valid @RequestBody TaskDto.CreateRequest request) {
+
+        return syncCorrectionService.correct(request)
+                .<ResponseEntity<?>>map(completed -> {
+                    log.info("Task corrected in sync mode: {}", completed.getTaskId());
+                    return ResponseEntity.status(HttpStatus.CREATED).body(completed);
+                })
+                .orElseGet(() -> {
+                    TaskDto.CreateResponse created = taskService.createTask(request);
+                    log.info("Task queued in sync mode: {}", created.getTaskId());
+                    return ResponseEntity.status(HttpStatus.ACCEPTED).body(created);
+                });
+    }
+
+    @Operation(
+            summary = "Создать задачи коррекции пакетом",
+            description = "Принимает JSON-массив задач, проверяет весь пакет и сохраняет его пакетными вставками "
+                    + "в одной транзакции; размер тела ограничен app.tasks.batch.max-body-size"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Задачи созданы"),
+            @ApiResponse(responseCode = "40001", description = "Невалидная задача в пакете"),
+            @ApiResponse(responseCode = "40002", description = "Невалидные данные"),
+            @ApiResponse(responseCode = "41301", description = "Превышен размер пакета"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TaskDto.BatchCreateResponse> createTasks(HttpServletRequest request) throws IOException {
+        // Elements are read one by one, so an oversized array is rejected without deserializing all of it
+        try (JsonParser parser = objectMapper.createParser(limitedBody(request))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw notReadable("Expected a JSON array of tasks", null, request);
+            }
+
+            AtomicInteger index = new AtomicInteger();
+            Stream<TaskDto.CreateRequest> validated = Stream
+                    .generate(() -> readArrayElement(parser, index.get(), request))
+                    .takeWhile(Optional::isPresent)
+                    .map(task -> validate(task.get(), index.getAndIncrement()));
+            return batchCreated(taskService.createTasks(validated));
+        }
+    }
+
+    @Operation(
+            summary = "Создать задачи коррекции из NDJSON-потока",
+            description = "Принимает по одной задаче в строке, проверяет весь пакет и сохраняет его пакетными "
+                    + "вставками в одной транзакции; размер тела ограничен app.tasks.batch.max-body-size"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Задачи созданы"),
+            @ApiResponse(responseCode = "40001", description = "Невалидная задача в пакете"),
+            @ApiResponse(responseCode = "40002", description = "Невалидные данные"),
+            @ApiResponse(responseCode = "41301", description = "Превышен размер пакета"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TaskDto.BatchCreateResponse> createTasksFromStream(HttpServletRequest request)
+            throws IOException {
+
+        AtomicInteger index = new AtomicInteger();
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(limitedBody(request), charset))) {
+            Stream<TaskDto.CreateRequest> validated = reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(line -> {
+                        int position = index.getAndIncrement();
+                        return validate(parseLine(line, position, request), position);
+                    });
+            return batchCreated(taskService.createTasks(validated));
+        }
+    }
+
+    @Operation(
+            summary = "Получить состояния нескольких задач",
+            description = "Возвращает состояния задач по списку идентификаторов одним ответом"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Состояния найденных задач и список ненайденных"),
+            @ApiResponse(responseCode = "40001", description = "Невалидные данные"),
+            @ApiResponse(responseCode = "41301", description = "Превышено число идентификаторов"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @PostMapping("/status")
+    public ResponseEntity<TaskDto.StatusResponse> getTaskStatuses(
+            @Valid @RequestBody TaskDto.StatusRequest request) {
+
+        return ResponseEntity.ok(taskService.getTaskStatuses(request.getTaskIds()));
+    }
+
     @Operation(
             summary = "Получить результат коррекции",
             description = "Возвращает ответ корректировки Яндекс.Спеллера и преобразования локально"
@@ -63,4 +213,183 @@ public class TaskController {
         TaskDto.GetResponse response = taskService.getTask(taskId);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Получить статус задачи",
+            description = "Возвращает состояние задачи без исправленного текста, не читая тексты из базы"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Задача найдена"),
+            @ApiResponse(responseCode = "40401", description = "Задача не найдена"),
+            @ApiResponse(responseCode = "40501", description = "Неразрешенный метод"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @GetMapping("/{taskId}/status")
+    public ResponseEntity<TaskDto.GetResponse> getTaskStatus(@PathVariable UUID taskId) {
+        return ResponseEntity.ok(taskService.getTaskStatus(taskId));
+    }
+
+    @Operation(
+            summary = "Дождаться результата коррекции",
+            description = "Удерживает запрос до завершения задачи или истечения waitMs и возвращает её текущее состояние"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Задача завершена или время ожидания истекло"),
+            @ApiResponse(responseCode = "40401", description = "Задача не найдена"),
+            @ApiResponse(responseCode = "40501", description = "Неразрешенный метод"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @GetMapping(value = "/{taskId}", params = "waitMs")
+    public DeferredResult<ResponseEntity<TaskDto.GetResponse>> awaitTask(@PathVariable UUID taskId,
+                                                                         @RequestParam long waitMs) {
+        long wait = Math.min(Math.max(waitMs, 0), maxWaitMs);
+        DeferredResult<ResponseEntity<TaskDto.GetResponse>> result =
+                new DeferredResult<>(wait + ASYNC_TIMEOUT_MARGIN_MS);
+
+        CompletableFuture<TaskDto.GetResponse> completion = taskService.awaitTask(taskId, wait);
+        result.onTimeout(() -> completion.cancel(false));
+        completion.whenComplete((response, error) -> {
+            if (error != null) {
+                result.setErrorResult(unwrap(error));
+            } else {
+                result.setResult(ResponseEntity.ok(response));
+            }
+        });
+        return result;
+    }
+
+    @Operation(
+            summary = "Подписаться на завершение задачи",
+            description = "Server-Sent Events: отправляет итоговое состояние задачи, как только она завершится"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Поток событий открыт"),
+            @ApiResponse(responseCode = "40401", description = "Задача не найдена"),
+            @ApiResponse(responseCode = "50001", description = "Серверная ошибка"),
+    })
+    @GetMapping(value = "/{taskId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTask(@PathVariable UUID taskId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs + ASYNC_TIMEOUT_MARGIN_MS);
+
+        CompletableFuture<TaskDto.GetResponse> completion = taskService.awaitTask(taskId, sseTimeoutMs);
+        emitter.onTimeout(() -> completion.cancel(false));
+        emitter.onError(error -> completion.cancel(false));
+        completion.whenComplete((response, error) -> {
+            if (completion.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                emitter.completeWithError(unwrap(error));
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(response.getTaskId().toString())
+                        .name(response.getStatus().name())
+                        .data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                log.debug("Client of task {} events disconnected: {}", taskId, e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private ResponseEntity<TaskDto.BatchCreateResponse> batchCreated(TaskDto.BatchCreateResponse response) {
+        log.info("Task batch created: {} tasks", response.getTaskIds().size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    private TaskDto.CreateRequest parseLine(String line, int index, HttpServletRequest request) {
+        try {
+            return objectMapper.readValue(line, TaskDto.CreateRequest.class);
+        } catch (JsonProcessingException e) {
+            throw notReadable("Invalid task #" + index + ": " + e.getOriginalMessage(), e, request);
+        }
+    }
+
+    private Optional<TaskDto.CreateRequest> readArrayElement(JsonParser parser, int index, HttpServletRequest request) {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return Optional.empty();
+            }
+            if (token == JsonToken.VALUE_NULL) {
+                return Optional.of(validate(null, index));
+            }
+            return Optional.of(objectMapper.readValue(parser, TaskDto.CreateRequest.class));
+        } catch (JsonProcessingException e) {
+            throw notReadable("Invalid task #" + index + ": " + e.getOriginalMessage(), e, request);
+        } catch (IOException e) {
+            throw notReadable("Failed to read task #" + index + ": " + e.getMessage(), e, request);
+        }
+    }
+
+    // The whole batch is buffered before it is inserted, so the body size bounds the memory a request can take
+    private InputStream limitedBody(HttpServletRequest request) throws IOException {
+        long limit = maxBatchBodySize.toBytes();
+        if (request.getContentLengthLong() > limit) {
+            throw new TaskBatchTooLargeException("Batch body exceeds the limit of " + limit + " bytes");
+        }
+        return new LimitedInputStream(request.getInputStream(), limit);
+    }
+
+    private static HttpMessageNotReadableException notReadable(String message, Throwable cause,
+                                                               HttpServletRequest request) {
+        return new HttpMessageNotReadableException(message, cause, new ServletServerHttpRequest(request));
+    }
+
+    private TaskDto.CreateRequest validate(TaskDto.CreateRequest task, int index) {
+        if (task == null) {
+            throw new ConstraintViolationException("task #" + index + " (null)", Set.of());
+        }
+
+        Set<ConstraintViolation<TaskDto.CreateRequest>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("task #" + index, violations);
+        }
+        return task;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Chunked uploads carry no Content-Length, so the limit is also enforced while the body is read
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long read;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            if (read > limit) {
+                throw new TaskBatchTooLargeException("Batch body exceeds the limit of " + limit + " bytes");
+            }
+        }
+    }
+}
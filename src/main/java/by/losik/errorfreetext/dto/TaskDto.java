@@ -7,6 +7,7 @@ import by.losik.errorfreetext.validation.ValidText;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +17,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public class TaskDto {
@@ -44,6 +46,35 @@ public class TaskDto {
         private UUID taskId;
     }
 
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchCreateResponse {
+        private List<UUID> taskIds;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusRequest {
+        @NotEmpty(message = "Task ids are required")
+        private List<@NotNull(message = "Task id cannot be null") UUID> taskIds;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusResponse {
+        private List<GetResponse> tasks;
+        private List<UUID> notFound;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
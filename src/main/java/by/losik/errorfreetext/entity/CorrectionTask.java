@@ -8,6 +8,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,10 +34,10 @@ public class CorrectionTask {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(name = "original_text", columnDefinition = "TEXT", nullable = false)
+    @Transient
     private String originalText;
 
-    @Column(name = "corrected_text", columnDefinition = "TEXT")
+    @Transient
     private String correctedText;
 
     @Enumerated(EnumType.STRING)
@@ -61,6 +62,19 @@ public class CorrectionTask {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "bucket", insertable = false, updatable = false)
+    private Integer bucket;
+
     @Version
     @Column(name = "version")
     private Long version;
@@ -0,0 +1,33 @@
+package by.losik.errorfreetext.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "correction_task_payloads")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrectionTaskPayload {
+
+    @Id
+    @Column(name = "task_id")
+    private UUID taskId;
+
+    @Column(name = "original_text", columnDefinition = "TEXT", nullable = false)
+    private String originalText;
+
+    @Column(name = "corrected_text", columnDefinition = "TEXT")
+    private String correctedText;
+}
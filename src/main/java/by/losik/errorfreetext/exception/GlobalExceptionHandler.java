@@ -3,6 +3,7 @@ package by.losik.errorfreetext.exception;
 import by.losik.errorfreetext.util.EnumUtils;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -128,6 +129,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(
+            ConstraintViolationException ex, HttpServletRequest request) {
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+        String errorMessage = "Validation failed for " + ex.getMessage() + ": " + errors;
+        log.warn("Validation error: {}", errorMessage);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .errorMessage(errorMessage)
+                .errorCode("40001")
+                .timestamp(LocalDateTime.now())
+                .path(getPathSafely(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(TaskBatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleTaskBatchTooLargeException(
+            TaskBatchTooLargeException ex, HttpServletRequest request) {
+
+        log.warn("Task batch rejected: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .errorMessage(ex.getMessage())
+                .errorCode("41301")
+                .timestamp(LocalDateTime.now())
+                .path(getPathSafely(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
@@ -0,0 +1,8 @@
+package by.losik.errorfreetext.exception;
+
+public class TaskBatchTooLargeException extends RuntimeException {
+
+    public TaskBatchTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,210 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+final class SpellerFormEncoder {
+
+    private static final char ZERO_WIDTH_NON_JOINER = '\u200C';
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final String TEXT_PARAM = "&text=";
+    private static final int STREAM_SLICE_CHARS = 2048;
+
+    private SpellerFormEncoder() {
+    }
+
+    static String encodeForm(List<? extends CharSequence> texts, String lang, int options) {
+        int capacity = 32 + lang.length();
+        for (CharSequence text : texts) {
+            capacity += TEXT_PARAM.length() + estimateEncodedLength(text);
+        }
+
+        StringBuilder form = new StringBuilder(capacity).append(formPrefix(lang, options));
+        for (CharSequence text : texts) {
+            form.append(TEXT_PARAM);
+            encode(text, form);
+        }
+        return form.toString();
+    }
+
+    static InputStream openForm(List<? extends CharSequence> texts, String lang, int options) {
+        return new FormInputStream(texts, formPrefix(lang, options));
+    }
+
+    static long formLength(List<? extends CharSequence> texts, String lang, int options) {
+        long length = formPrefix(lang, options).length();
+        for (CharSequence text : texts) {
+            length += TEXT_PARAM.length() + encodedLength(text);
+        }
+        return length;
+    }
+
+    static long encodedLength(CharSequence text) {
+        int length = text.length();
+        long encoded = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c == ZERO_WIDTH_NON_JOINER) {
+                continue;
+            }
+            if (isUnreserved(c)) {
+                encoded++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                encoded += 12;
+                i++;
+            } else if (c < 0x80 || Character.isSurrogate(c)) {
+                encoded += 3;
+            } else if (c < 0x800) {
+                encoded += 6;
+            } else {
+                encoded += 9;
+            }
+        }
+        return encoded;
+    }
+
+    static int estimateEncodedLength(CharSequence text) {
+        return text.length() * 3;
+    }
+
+    static void encode(CharSequence text, StringBuilder out) {
+        try {
+            encode(text, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void encode(CharSequence text, Appendable out) throws IOException {
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (c == ZERO_WIDTH_NON_JOINER) {
+                continue;
+            }
+            if (isUnreserved(c)) {
+                out.append(c);
+                continue;
+            }
+            if (c == ' ') {
+                out.append("%20");
+                continue;
+            }
+
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, text.charAt(++i));
+            } else if (Character.isSurrogate(c)) {
+                codePoint = '?';
+            }
+            appendUtf8Escaped(out, codePoint);
+        }
+    }
+
+    private static String formPrefix(String lang, int options) {
+        return "lang=" + lang + "&options=" + options;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_' || c == '@';
+    }
+
+    private static void appendUtf8Escaped(Appendable out, int codePoint) throws IOException {
+        if (codePoint < 0x80) {
+            appendEscapedByte(out, codePoint);
+        } else if (codePoint < 0x800) {
+            appendEscapedByte(out, 0xC0 | (codePoint >> 6));
+            appendEscapedByte(out, 0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            appendEscapedByte(out, 0xE0 | (codePoint >> 12));
+            appendEscapedByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendEscapedByte(out, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendEscapedByte(out, 0xF0 | (codePoint >> 18));
+            appendEscapedByte(out, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendEscapedByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendEscapedByte(out, 0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private static void appendEscapedByte(Appendable out, int value) throws IOException {
+        out.append('%').append(HEX[(value >> 4) & 0xF]).append(HEX[value & 0xF]);
+    }
+
+    private static final class FormInputStream extends InputStream {
+
+        private final List<? extends CharSequence> texts;
+        private final StringBuilder buffer = new StringBuilder(STREAM_SLICE_CHARS * 3 + TEXT_PARAM.length());
+        private int textIndex;
+        private int textPosition;
+        private int bufferPosition;
+
+        private FormInputStream(List<? extends CharSequence> texts, String prefix) {
+            this.texts = texts;
+            this.buffer.append(prefix);
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer.charAt(bufferPosition++);
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+
+            int count = Math.min(length, buffer.length() - bufferPosition);
+            for (int i = 0; i < count; i++) {
+                bytes[offset + i] = (byte) buffer.charAt(bufferPosition++);
+            }
+            return count;
+        }
+
+        private boolean fill() {
+            while (bufferPosition == buffer.length()) {
+                if (textIndex == texts.size()) {
+                    return false;
+                }
+                buffer.setLength(0);
+                bufferPosition = 0;
+                encodeNextSlice();
+            }
+            return true;
+        }
+
+        private void encodeNextSlice() {
+            CharSequence text = texts.get(textIndex);
+            if (textPosition == 0) {
+                buffer.append(TEXT_PARAM);
+            }
+
+            int end = Math.min(textPosition + STREAM_SLICE_CHARS, text.length());
+            // Never split a surrogate pair between two slices
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end++;
+            }
+            encode(text.subSequence(textPosition, end), buffer);
+
+            textPosition = end;
+            if (textPosition >= text.length()) {
+                textIndex++;
+                textPosition = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import by.losik.errorfreetext.config.YandexSpellerConfig;
+import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
+import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.yandex-speller.http.async", havingValue = "true")
+public class YandexSpellerAsyncClient {
+
+    private static final String INSTANCE_NAME = "yandexSpeller";
+    private static final TypeReference<List<List<SpellResult>>> RESPONSE_TYPE = new TypeReference<>() {};
+
+    private final YandexSpellerConfig config;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService httpExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final HttpClient httpClient;
+    // Caps calls across all callers; the ones over the cap wait in the queue instead of blocking a thread
+    private final Semaphore inFlight;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Boolean> draining = ThreadLocal.withInitial(() -> false);
+
+    public YandexSpellerAsyncClient(YandexSpellerConfig config,
+                                    ObjectMapper objectMapper,
+                                    CircuitBreakerRegistry circuitBreakerRegistry,
+                                    RetryRegistry retryRegistry,
+                                    RateLimiterRegistry rateLimiterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        this.retry = retryRegistry.retry(INSTANCE_NAME);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(INSTANCE_NAME);
+        this.httpExecutor = Executors.newFixedThreadPool(config.getHttp().getAsyncThreads(), daemonThreads("speller-async-"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("speller-retry-"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(config.getBaseUrl().startsWith("https") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.getRequestTimeout()))
+                .executor(httpExecutor)
+                .build();
+        this.inFlight = new Semaphore(config.getHttp().getAsyncMaxInFlight());
+    }
+
+    public CompletableFuture<List<List<SpellResult>>> checkTextsAsync(
+            List<? extends CharSequence> texts, String lang, int options) {
+
+        log.debug("Sending async {} request to Yandex Speller: {} texts", config.getTransport(), texts.size());
+
+        HttpRequest request;
+        try {
+            request = buildRequest(texts, lang, options);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(
+                    new YandexSpellerException("Unexpected error: " + e.getMessage(), e));
+        }
+
+        Supplier<CompletionStage<List<List<SpellResult>>>> call = () -> send(request);
+        // Same nesting as the annotated sync client: every retry attempt takes its own rate limiter permit
+        Supplier<CompletionStage<List<List<SpellResult>>>> decorated = Retry.decorateCompletionStage(retry, retryScheduler,
+                CircuitBreaker.decorateCompletionStage(circuitBreaker,
+                        RateLimiter.decorateCompletionStage(rateLimiter, call)));
+
+        CompletableFuture<List<List<SpellResult>>> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            try {
+                decorated.get().whenComplete((response, error) -> {
+                    if (error == null) {
+                        result.complete(response);
+                    } else {
+                        result.completeExceptionally(translate(error));
+                    }
+                    release();
+                });
+            } catch (Exception e) {
+                release();
+                result.completeExceptionally(translate(e));
+            }
+        });
+        startWaiting();
+        return result;
+    }
+
+    private void release() {
+        inFlight.release();
+        startWaiting();
+    }
+
+    private void startWaiting() {
+        // A call that fails synchronously releases inside next.run(); the outer loop picks up its permit
+        if (draining.get()) {
+            return;
+        }
+        draining.set(true);
+        try {
+            while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    inFlight.release();
+                    continue;
+                }
+                next.run();
+            }
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
+    private CompletionStage<List<List<SpellResult>>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof IOException io) {
+                            throw new ResourceAccessException("I/O error on " + request.method()
+                                    + " request for \"" + request.uri() + "\": " + io.getMessage(), io);
+                        }
+                        throw new CompletionException(cause);
+                    }
+                    return parse(response);
+                });
+    }
+
+    private List<List<SpellResult>> parse(HttpResponse<byte[]> response) {
+        if (response.statusCode() != HttpStatus.OK.value()) {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            throw new YandexSpellerException("Yandex Speller API error: " + response.statusCode()
+                    + (status != null ? " " + status.getReasonPhrase() : ""));
+        }
+
+        try {
+            List<List<SpellResult>> body = objectMapper.readValue(response.body(), RESPONSE_TYPE);
+            if (body == null) {
+                throw new YandexSpellerException("Failed to get response from Yandex Speller API");
+            }
+            log.debug("Received async response from Yandex Speller: {} texts", body.size());
+            return body;
+        } catch (IOException e) {
+            throw new YandexSpellerException("Unexpected error: " + e.getMessage(), e);
+        }
+    }
+
+    private HttpRequest buildRequest(List<? extends CharSequence> texts, String lang, int options) {
+        String endpoint = UriComponentsBuilder
+                .fromHttpUrl(config.getBaseUrl() + "/checkTexts")
+                .build(true)
+                .toUriString();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofMillis(config.getRequestTimeout()))
+                .header("Accept", "application/json");
+
+        if (config.getTransport() == YandexSpellerConfig.Transport.GET) {
+            String query = SpellerFormEncoder.encodeForm(texts, lang, options);
+            return builder.uri(URI.create(endpoint + '?' + query)).GET().build();
+        }
+
+        // The form is encoded slice by slice while the client writes it, a fresh stream for every retry
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> SpellerFormEncoder.openForm(texts, lang, options)),
+                SpellerFormEncoder.formLength(texts, lang, options));
+
+        return builder.uri(URI.create(endpoint))
+                .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+                .POST(body)
+                .build();
+    }
+
+    private static RuntimeException translate(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (cause instanceof YandexSpellerException spellerException) {
+            return spellerException;
+        }
+        if (cause instanceof ResourceAccessException) {
+            log.error("Yandex Speller API timeout: {}", cause.getMessage());
+            return new YandexSpellerException("Yandex Speller API timeout", cause);
+        }
+        log.error("Unexpected error in Yandex Speller: {}", cause.getMessage());
+        return new YandexSpellerException("Unexpected error: " + cause.getMessage(), cause);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
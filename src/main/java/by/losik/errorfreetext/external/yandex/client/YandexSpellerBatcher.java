@@ -0,0 +1,262 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import by.losik.errorfreetext.config.YandexSpellerConfig;
+import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
+import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class YandexSpellerBatcher {
+
+    private final YandexSpellerClient spellerClient;
+    private final YandexSpellerAsyncClient asyncClient;
+    private final YandexSpellerConfig.Batch batchConfig;
+    private final YandexSpellerConfig.Http httpConfig;
+    private final Executor spellerExecutor;
+    private final ScheduledExecutorService lingerTimer;
+
+    private final Map<BatchKey, PendingBatch> pendingBatches = new HashMap<>();
+
+    public YandexSpellerBatcher(YandexSpellerClient spellerClient,
+                                ObjectProvider<YandexSpellerAsyncClient> asyncClient,
+                                YandexSpellerConfig config,
+                                @Qualifier("spellerExecutor") Executor spellerExecutor) {
+        this.spellerClient = spellerClient;
+        // Only registered when app.yandex-speller.http.async is on
+        this.asyncClient = asyncClient.getIfAvailable();
+        this.batchConfig = config.getBatch();
+        this.httpConfig = config.getHttp();
+        this.spellerExecutor = spellerExecutor;
+        this.lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "speller-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<List<SpellResult>> checkTexts(List<? extends CharSequence> texts, String lang, int options) {
+        if (!batchConfig.isEnabled()) {
+            return spellerClient.checkTextsWithRetry(texts, lang, options);
+        }
+
+        try {
+            return submit(texts, lang, options).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new YandexSpellerException("Batched speller call failed: " + e.getMessage(), e);
+        }
+    }
+
+    public CompletableFuture<List<List<SpellResult>>> submit(List<? extends CharSequence> texts,
+                                                             String lang, int options) {
+        if (!batchConfig.isEnabled()) {
+            if (httpConfig.isAsync()) {
+                return asyncClient.checkTextsAsync(texts, lang, options);
+            }
+            return CompletableFuture.supplyAsync(
+                    () -> spellerClient.checkTextsWithRetry(texts, lang, options), spellerExecutor);
+        }
+
+        BatchEntry entry = new BatchEntry(texts, countChars(texts));
+        BatchKey key = new BatchKey(lang, options);
+
+        PendingBatch overflow = null;
+        PendingBatch full = null;
+
+        synchronized (pendingBatches) {
+            PendingBatch batch = pendingBatches.get(key);
+
+            if (batch != null && !batch.fits(entry)) {
+                overflow = pendingBatches.remove(key);
+                batch = null;
+            }
+
+            if (batch == null) {
+                batch = new PendingBatch(key);
+                pendingBatches.put(key, batch);
+                scheduleLinger(batch);
+            }
+
+            batch.add(entry);
+
+            if (batch.isFull()) {
+                full = pendingBatches.remove(key);
+            }
+        }
+
+        if (overflow != null) {
+            dispatch(overflow);
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+
+        return entry.future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lingerTimer.shutdownNow();
+
+        List<PendingBatch> abandoned;
+        synchronized (pendingBatches) {
+            abandoned = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+        }
+
+        YandexSpellerException error = new YandexSpellerException("Speller batcher is shutting down");
+        abandoned.forEach(batch -> batch.fail(error));
+    }
+
+    private void scheduleLinger(PendingBatch batch) {
+        lingerTimer.schedule(() -> {
+            boolean expired;
+            synchronized (pendingBatches) {
+                expired = pendingBatches.remove(batch.key, batch);
+            }
+            if (expired) {
+                dispatch(batch);
+            }
+        }, batchConfig.getLingerMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch(PendingBatch batch) {
+        if (httpConfig.isAsync()) {
+            sendAsync(batch);
+            return;
+        }
+
+        try {
+            spellerExecutor.execute(() -> flush(batch));
+        } catch (Exception e) {
+            log.error("Failed to schedule speller batch for lang={}, options={}: {}",
+                    batch.key.lang(), batch.key.options(), e.getMessage());
+            batch.fail(new YandexSpellerException("Speller batch rejected: " + e.getMessage(), e));
+        }
+    }
+
+    private void flush(PendingBatch batch) {
+        List<CharSequence> texts = batch.texts();
+
+        try {
+            batch.complete(spellerClient.checkTextsWithRetry(texts, batch.key.lang(), batch.key.options()));
+        } catch (Exception e) {
+            batch.fail(e);
+        }
+    }
+
+    private void sendAsync(PendingBatch batch) {
+        List<CharSequence> texts = batch.texts();
+
+        asyncClient.checkTextsAsync(texts, batch.key.lang(), batch.key.options())
+                .whenComplete((results, error) -> {
+                    if (error != null) {
+                        batch.fail(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+                        return;
+                    }
+                    try {
+                        batch.complete(results);
+                    } catch (Exception e) {
+                        batch.fail(e);
+                    }
+                });
+    }
+
+    private static long countChars(List<? extends CharSequence> texts) {
+        long chars = 0;
+        for (CharSequence text : texts) {
+            chars += text.length();
+        }
+        return chars;
+    }
+
+    private record BatchKey(String lang, int options) {
+    }
+
+    private static class BatchEntry {
+        private final List<? extends CharSequence> texts;
+        private final long chars;
+        private final CompletableFuture<List<List<SpellResult>>> future = new CompletableFuture<>();
+
+        private BatchEntry(List<? extends CharSequence> texts, long chars) {
+            this.texts = texts;
+            this.chars = chars;
+        }
+    }
+
+    private class PendingBatch {
+        private final BatchKey key;
+        private final List<BatchEntry> entries = new ArrayList<>();
+        private int textCount;
+        private long charCount;
+
+        private PendingBatch(BatchKey key) {
+            this.key = key;
+        }
+
+        private boolean fits(BatchEntry entry) {
+            return entries.isEmpty()
+                    || (textCount + entry.texts.size() <= batchConfig.getMaxTexts()
+                    && charCount + entry.chars <= batchConfig.getMaxChars());
+        }
+
+        private void add(BatchEntry entry) {
+            entries.add(entry);
+            textCount += entry.texts.size();
+            charCount += entry.chars;
+        }
+
+        private boolean isFull() {
+            return textCount >= batchConfig.getMaxTexts() || charCount >= batchConfig.getMaxChars();
+        }
+
+        private List<CharSequence> texts() {
+            List<CharSequence> texts = new ArrayList<>(textCount);
+            for (BatchEntry entry : entries) {
+                texts.addAll(entry.texts);
+            }
+
+            log.debug("Flushing speller batch: lang={}, options={}, requests={}, texts={}, chars={}",
+                    key.lang(), key.options(), entries.size(), texts.size(), charCount);
+            return texts;
+        }
+
+        private void complete(List<List<SpellResult>> results) {
+            if (results == null || results.size() != textCount) {
+                throw new YandexSpellerException(String.format(
+                        "Yandex Speller API returned %s results for %d texts",
+                        results == null ? "null" : results.size(), textCount));
+            }
+
+            int offset = 0;
+            for (BatchEntry entry : entries) {
+                int size = entry.texts.size();
+                entry.future.complete(new ArrayList<>(results.subList(offset, offset + size)));
+                offset += size;
+            }
+        }
+
+        private void fail(Throwable error) {
+            entries.forEach(entry -> entry.future.completeExceptionally(error));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class YandexSpellerCapacity {
+
+    private static final String INSTANCE_NAME = "yandexSpeller";
+
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+
+    public YandexSpellerCapacity(CircuitBreakerRegistry circuitBreakerRegistry,
+                                 RateLimiterRegistry rateLimiterRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(INSTANCE_NAME);
+    }
+
+    // Calls still allowed by the rate limiter in its current refresh period, zero while the circuit is open.
+    // This is a rate budget, not a concurrency limit: a long task may spend several of these permits
+    public int availableRatePermits() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        if (state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN) {
+            return 0;
+        }
+        return Math.max(0, rateLimiter.getMetrics().getAvailablePermissions());
+    }
+}
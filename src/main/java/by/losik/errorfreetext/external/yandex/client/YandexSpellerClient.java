@@ -11,16 +11,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -29,6 +34,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class YandexSpellerClient {
 
+    private static final ParameterizedTypeReference<List<List<SpellResult>>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final MediaType FORM_CONTENT_TYPE =
+            new MediaType(MediaType.APPLICATION_FORM_URLENCODED, StandardCharsets.UTF_8);
+
     private final RestTemplate restTemplate;
     private final YandexSpellerConfig config;
 
@@ -36,26 +46,23 @@ public class YandexSpellerClient {
     @Retry(name = "yandexSpeller")
     @RateLimiter(name = "yandexSpeller")
     public List<List<SpellResult>> checkTextsWithRetry(
-            List<String> texts, String lang, int options) {
+            List<? extends CharSequence> texts, String lang, int options) {
 
-        URI uri = buildUri(texts, lang, options);
+        boolean post = config.getTransport() == YandexSpellerConfig.Transport.POST;
 
-        log.debug("Sending request to Yandex Speller:");
-        log.debug("URI: {}", uri);
-        log.debug("Number of texts: {}", texts.size());
-        for (int i = 0; i < texts.size(); i++) {
-            log.debug("Text {} (length {}): '{}'", i, texts.get(i).length(), texts.get(i));
+        log.debug("Sending {} request to Yandex Speller: {} texts", post ? "POST" : "GET", texts.size());
+        if (log.isTraceEnabled()) {
+            for (int i = 0; i < texts.size(); i++) {
+                log.trace("Text {} (length {}): '{}'", i, texts.get(i).length(), texts.get(i));
+            }
         }
 
         try {
-            ResponseEntity<List<List<SpellResult>>> response = restTemplate.exchange(
-                    uri,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<List<SpellResult>>>() {}
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            ResponseEntity<List<List<SpellResult>>> response = post
+                    ? exchangePost(texts, lang, options)
+                    : exchangeGet(texts, lang, options);
+
+            if (response != null && response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 log.debug("Received response from Yandex Speller:");
                 for (int i = 0; i < response.getBody().size(); i++) {
                     List<SpellResult> chunkResults = response.getBody().get(i);
@@ -83,20 +90,64 @@ public class YandexSpellerClient {
         }
     }
 
-    private URI buildUri(List<String> texts, String lang, int options) {
-        UriComponentsBuilder builder = UriComponentsBuilder
+    private ResponseEntity<List<List<SpellResult>>> exchangeGet(
+            List<? extends CharSequence> texts, String lang, int options) {
+        URI uri = buildUri(texts, lang, options);
+        log.debug("GET URI length: {}", uri.getRawQuery().length());
+
+        return restTemplate.exchange(uri, HttpMethod.GET, null, RESPONSE_TYPE);
+    }
+
+    private ResponseEntity<List<List<SpellResult>>> exchangePost(
+            List<? extends CharSequence> texts, String lang, int options) {
+        URI uri = UriComponentsBuilder
+                .fromHttpUrl(config.getBaseUrl() + "/checkTexts")
+                .build(true)
+                .toUri();
+
+        RequestCallback writeForm = request -> {
+            request.getHeaders().setContentType(FORM_CONTENT_TYPE);
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+            request.getHeaders().setContentLength(SpellerFormEncoder.formLength(texts, lang, options));
+
+            // getBody() of a streaming request is an in-memory buffer, so the form is written through setBody
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(out -> writeForm(texts, lang, options, out));
+            } else {
+                writeForm(texts, lang, options, request.getBody());
+            }
+        };
+
+        return restTemplate.execute(uri, HttpMethod.POST, writeForm,
+                restTemplate.responseEntityExtractor(RESPONSE_TYPE.getType()));
+    }
+
+    private static void writeForm(List<? extends CharSequence> texts, String lang, int options,
+                                  OutputStream out) throws IOException {
+        try (InputStream form = SpellerFormEncoder.openForm(texts, lang, options)) {
+            form.transferTo(out);
+        }
+    }
+
+    private URI buildUri(List<? extends CharSequence> texts, String lang, int options) {
+        String base = UriComponentsBuilder
                 .fromHttpUrl(config.getBaseUrl() + "/checkTexts")
                 .queryParam("lang", lang)
-                .queryParam("options", options);
-
-        for (String text : texts) {
-            String cleanedText = text.replace("\u200C", "");
-            String encodedText = URLEncoder.encode(cleanedText, StandardCharsets.UTF_8)
-                    .replace("+", "%20")
-                    .replace("%40", "@");
-            builder.queryParam("text", encodedText);
+                .queryParam("options", options)
+                .build(true)
+                .toUriString();
+
+        int capacity = base.length();
+        for (CharSequence text : texts) {
+            capacity += 6 + SpellerFormEncoder.estimateEncodedLength(text);
+        }
+
+        StringBuilder uri = new StringBuilder(capacity).append(base);
+        for (CharSequence text : texts) {
+            uri.append("&text=");
+            SpellerFormEncoder.encode(text, uri);
         }
 
-        return builder.build(true).toUri();
+        return URI.create(uri.toString());
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,8 @@ package by.losik.errorfreetext.mapper;
 import by.losik.errorfreetext.dto.TaskDto;
 import by.losik.errorfreetext.entity.CorrectionTask;
 import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.repository.projection.TaskStatusView;
+import by.losik.errorfreetext.repository.projection.TaskView;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -29,6 +31,10 @@ public interface TaskMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "processedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
+    @Mapping(target = "leaseOwner", ignore = true)
+    @Mapping(target = "leaseExpiresAt", ignore = true)
+    @Mapping(target = "attempts", ignore = true)
+    @Mapping(target = "bucket", ignore = true)
     CorrectionTask toEntity(TaskDto.CreateRequest request);
 
     default TaskDto.CreateResponse toCreateResponse(CorrectionTask task) {
@@ -50,6 +56,15 @@ public interface TaskMapper {
     @Mapping(source = "processedAt", target = "processedAt")
     TaskDto.GetResponse toGetResponse(CorrectionTask task);
 
+    @Mapping(source = "id", target = "taskId")
+    @Mapping(target = "originalText", ignore = true)
+    TaskDto.GetResponse toGetResponseFromView(TaskView view);
+
+    @Mapping(source = "id", target = "taskId")
+    @Mapping(target = "originalText", ignore = true)
+    @Mapping(target = "correctedText", ignore = true)
+    TaskDto.GetResponse toGetResponseFromStatusView(TaskStatusView view);
+
     List<TaskDto.GetResponse> toGetResponseList(List<CorrectionTask> tasks);
 
     @AfterMapping
@@ -0,0 +1,40 @@
+package by.losik.errorfreetext.repository;
+
+import by.losik.errorfreetext.entity.CorrectionResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CorrectionResultRepository extends JpaRepository<CorrectionResult, String> {
+
+    @Query("SELECT r.correctedText FROM CorrectionResult r WHERE r.cacheKey = :cacheKey")
+    Optional<String> findCorrectedTextByCacheKey(@Param("cacheKey") String cacheKey);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT INTO correction_results (cache_key, language, corrected_text)
+    VALUES (:cacheKey, :language, :correctedText)
+    ON CONFLICT (cache_key) DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("cacheKey") String cacheKey,
+                       @Param("language") String language,
+                       @Param("correctedText") String correctedText);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    DELETE FROM correction_results
+    WHERE cache_key IN (
+        SELECT cache_key FROM correction_results
+        WHERE created_at < :cutoff
+        LIMIT :limit
+    )
+    """, nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
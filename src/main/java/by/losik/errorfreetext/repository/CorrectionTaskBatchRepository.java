@@ -0,0 +1,19 @@
+package by.losik.errorfreetext.repository;
+
+import by.losik.errorfreetext.entity.CorrectionTask;
+import by.losik.errorfreetext.repository.projection.TaskView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CorrectionTaskBatchRepository {
+
+    String TASK_FINISHED_CHANNEL = "correction_tasks_finished";
+
+    void insertAll(List<CorrectionTask> tasks);
+
+    List<TaskView> findViewsByIds(Collection<UUID> ids);
+
+    void notifyTaskFinished(UUID taskId);
+}
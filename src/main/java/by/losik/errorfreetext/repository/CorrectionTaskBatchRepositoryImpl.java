@@ -0,0 +1,141 @@
+package by.losik.errorfreetext.repository;
+
+import by.losik.errorfreetext.entity.CorrectionTask;
+import by.losik.errorfreetext.entity.Language;
+import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.repository.projection.TaskView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class CorrectionTaskBatchRepositoryImpl implements CorrectionTaskBatchRepository {
+
+    private static final String INSERT_TASK = """
+    INSERT INTO correction_tasks (id, status, language, options, created_at, processed_at, attempts, version)
+    VALUES (?, ?, ?, ?, ?, ?, 0, 0)
+    """;
+
+    private static final String INSERT_PAYLOAD = """
+    INSERT INTO correction_task_payloads (task_id, original_text, corrected_text)
+    VALUES (?, ?, ?)
+    """;
+
+    private static final String SELECT_VIEWS = """
+    SELECT t.id, t.status, t.language, t.error_message, t.created_at, t.processed_at, p.corrected_text
+    FROM correction_tasks t
+    LEFT JOIN correction_task_payloads p ON p.task_id = t.id AND t.status = 'COMPLETED'
+    WHERE t.id = ANY(?)
+    """;
+
+    private static final String NOTIFY_FINISHED = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<CorrectionTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_TASK, tasks, tasks.size(), (statement, task) -> {
+            statement.setObject(1, task.getId());
+            statement.setString(2, task.getStatus().name());
+            statement.setString(3, task.getLanguage().name());
+            statement.setObject(4, task.getOptions(), Types.INTEGER);
+            statement.setTimestamp(5, Timestamp.valueOf(task.getCreatedAt()));
+            statement.setTimestamp(6, task.getProcessedAt() != null ? Timestamp.valueOf(task.getProcessedAt()) : null);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_PAYLOAD, tasks, tasks.size(), (statement, task) -> {
+            statement.setObject(1, task.getId());
+            statement.setString(2, task.getOriginalText());
+            statement.setString(3, task.getCorrectedText());
+        });
+    }
+
+    @Override
+    public List<TaskView> findViewsByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_VIEWS);
+            Array idArray = connection.createArrayOf("uuid", ids.toArray());
+            statement.setArray(1, idArray);
+            return statement;
+        }, (resultSet, rowNum) -> mapView(resultSet));
+    }
+
+    @Override
+    public void notifyTaskFinished(UUID taskId) {
+        // NOTIFY is transactional: listeners on every node receive it only once the caller's transaction commits
+        jdbcTemplate.query(NOTIFY_FINISHED, resultSet -> null, TASK_FINISHED_CHANNEL, taskId.toString());
+    }
+
+    private static TaskView mapView(ResultSet resultSet) throws SQLException {
+        return new TaskViewRow(
+                resultSet.getObject("id", UUID.class),
+                TaskStatus.valueOf(resultSet.getString("status")),
+                Language.valueOf(resultSet.getString("language")),
+                resultSet.getString("error_message"),
+                toLocalDateTime(resultSet.getTimestamp("created_at")),
+                toLocalDateTime(resultSet.getTimestamp("processed_at")),
+                resultSet.getString("corrected_text"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record TaskViewRow(UUID id, TaskStatus status, Language language, String errorMessage,
+                               LocalDateTime createdAt, LocalDateTime processedAt, String correctedText)
+            implements TaskView {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public TaskStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public Language getLanguage() {
+            return language;
+        }
+
+        @Override
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public LocalDateTime getProcessedAt() {
+            return processedAt;
+        }
+
+        @Override
+        public String getCorrectedText() {
+            return correctedText;
+        }
+    }
+}
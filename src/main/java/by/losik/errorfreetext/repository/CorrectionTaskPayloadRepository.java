@@ -0,0 +1,27 @@
+package by.losik.errorfreetext.repository;
+
+import by.losik.errorfreetext.entity.CorrectionTaskPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CorrectionTaskPayloadRepository extends JpaRepository<CorrectionTaskPayload, UUID> {
+
+    @Query("SELECT p.originalText FROM CorrectionTaskPayload p WHERE p.taskId = :taskId")
+    Optional<String> findOriginalTextByTaskId(@Param("taskId") UUID taskId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT INTO correction_task_payloads (task_id, original_text, corrected_text)
+    VALUES (:taskId, :originalText, :correctedText)
+    """, nativeQuery = true)
+    int insert(@Param("taskId") UUID taskId,
+               @Param("originalText") String originalText,
+               @Param("correctedText") String correctedText);
+}
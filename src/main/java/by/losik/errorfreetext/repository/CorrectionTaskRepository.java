@@ -2,6 +2,9 @@ package by.losik.errorfreetext.repository;
 
 import by.losik.errorfreetext.entity.CorrectionTask;
 import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.repository.projection.ExpiredLeaseCounts;
+import by.losik.errorfreetext.repository.projection.TaskStatusView;
+import by.losik.errorfreetext.repository.projection.TaskView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,49 +12,146 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface CorrectionTaskRepository extends JpaRepository<CorrectionTask, UUID> {
+public interface CorrectionTaskRepository extends JpaRepository<CorrectionTask, UUID>, CorrectionTaskBatchRepository {
     @Query("SELECT t FROM CorrectionTask t WHERE t.id = :id")
     Optional<CorrectionTask> findById(@Param("id") UUID id);
 
+    @Query("SELECT t.id AS id, t.status AS status, t.language AS language, " +
+            "       t.errorMessage AS errorMessage, t.createdAt AS createdAt, t.processedAt AS processedAt " +
+            "FROM CorrectionTask t WHERE t.id = :id")
+    Optional<TaskStatusView> findStatusById(@Param("id") UUID id);
+
+    @Query("SELECT t.id AS id, t.status AS status, t.language AS language, " +
+            "       t.errorMessage AS errorMessage, t.createdAt AS createdAt, t.processedAt AS processedAt, " +
+            "       p.correctedText AS correctedText " +
+            "FROM CorrectionTask t " +
+            "LEFT JOIN CorrectionTaskPayload p ON p.taskId = t.id AND t.status = 'COMPLETED' " +
+            "WHERE t.id = :id")
+    Optional<TaskView> findViewById(@Param("id") UUID id);
+
     @Transactional
-    @Modifying
     @Query(value = """
-    WITH next_task AS (
+    WITH next_tasks AS (
         SELECT id FROM correction_tasks
         WHERE status = 'NEW'
         ORDER BY created_at ASC
-        LIMIT 1
+        LIMIT :limit
         FOR UPDATE SKIP LOCKED
     )
-    UPDATE correction_tasks 
-    SET status = 'PROCESSING', 
+    UPDATE correction_tasks
+    SET status = 'PROCESSING',
         processed_at = NOW(),
+        lease_owner = :owner,
+        lease_expires_at = NOW() + make_interval(secs => :leaseSeconds),
+        attempts = attempts + 1,
         version = version + 1
-    FROM next_task
-    WHERE correction_tasks.id = next_task.id
-    RETURNING correction_tasks.id   -- ← явно указываем таблицу!
+    FROM next_tasks
+    WHERE correction_tasks.id = next_tasks.id
+    RETURNING correction_tasks.*
     """, nativeQuery = true)
-    List<UUID> pollAndGetId();
+    List<CorrectionTask> claimBatch(@Param("limit") int limit,
+                                    @Param("owner") String owner,
+                                    @Param("leaseSeconds") double leaseSeconds);
 
-    default Optional<CorrectionTask> pollNextTask() {
-        return pollAndGetId().stream()
-                .findFirst()
-                .flatMap(this::findById);
-    }
+    @Transactional
+    @Query(value = """
+    WITH next_tasks AS (
+        SELECT id FROM correction_tasks
+        WHERE status = 'NEW'
+          AND bucket BETWEEN :firstBucket AND :lastBucket
+        ORDER BY created_at ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    )
+    UPDATE correction_tasks
+    SET status = 'PROCESSING',
+        processed_at = NOW(),
+        lease_owner = :owner,
+        lease_expires_at = NOW() + make_interval(secs => :leaseSeconds),
+        attempts = attempts + 1,
+        version = version + 1
+    FROM next_tasks
+    WHERE correction_tasks.id = next_tasks.id
+    RETURNING correction_tasks.*
+    """, nativeQuery = true)
+    List<CorrectionTask> claimBatchInBuckets(@Param("limit") int limit,
+                                             @Param("firstBucket") int firstBucket,
+                                             @Param("lastBucket") int lastBucket,
+                                             @Param("owner") String owner,
+                                             @Param("leaseSeconds") double leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    UPDATE correction_tasks
+    SET lease_expires_at = NOW() + make_interval(secs => :leaseSeconds)
+    WHERE id IN (:ids)
+      AND lease_owner = :owner
+      AND status = 'PROCESSING'
+    """, nativeQuery = true)
+    int renewLeases(@Param("ids") Collection<UUID> ids,
+                    @Param("owner") String owner,
+                    @Param("leaseSeconds") double leaseSeconds);
+
+    // One statement, so a lease cannot expire between the FAILED and the NEW branch and skip the attempt limit
+    @Transactional
+    @Query(value = """
+    WITH expired AS (
+        UPDATE correction_tasks
+        SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'NEW' END,
+            error_message = CASE WHEN attempts >= :maxAttempts THEN :errorMessage ELSE error_message END,
+            processed_at = CASE WHEN attempts >= :maxAttempts THEN NOW() END,
+            lease_owner = CASE WHEN attempts >= :maxAttempts THEN lease_owner END,
+            lease_expires_at = NULL,
+            version = version + 1
+        WHERE status = 'PROCESSING'
+          AND lease_expires_at < NOW()
+        RETURNING status
+    )
+    SELECT CAST(COUNT(*) FILTER (WHERE status = 'NEW') AS INTEGER) AS reclaimed,
+           CAST(COUNT(*) FILTER (WHERE status = 'FAILED') AS INTEGER) AS failed
+    FROM expired
+    """, nativeQuery = true)
+    ExpiredLeaseCounts reclaimExpiredLeases(@Param("maxAttempts") int maxAttempts,
+                                            @Param("errorMessage") String errorMessage);
 
     @Transactional
     @Modifying
     @Query("UPDATE CorrectionTask t " +
-            "SET t.status = 'COMPLETED', " +
-            "    t.correctedText = :correctedText, " +
-            "    t.processedAt = :processedAt, " +
+            "SET t.status = 'NEW', " +
+            "    t.processedAt = NULL, " +
+            "    t.leaseOwner = NULL, " +
+            "    t.leaseExpiresAt = NULL, " +
+            "    t.attempts = t.attempts - 1, " +
             "    t.version = t.version + 1 " +
-            "WHERE t.id = :id AND t.status = 'PROCESSING'")
+            "WHERE t.id = :id AND t.status = 'PROCESSING' AND t.leaseOwner = :owner")
+    int releaseClaim(@Param("id") UUID id, @Param("owner") String owner);
+
+    @Transactional
+    @Query(value = """
+    WITH completed AS (
+        UPDATE correction_tasks
+        SET status = 'COMPLETED',
+            processed_at = :processedAt,
+            lease_expires_at = NULL,
+            version = version + 1
+        WHERE id = :id AND status = 'PROCESSING' AND lease_owner = :owner
+        RETURNING id
+    ), payload AS (
+        UPDATE correction_task_payloads
+        SET corrected_text = :correctedText
+        FROM completed
+        WHERE correction_task_payloads.task_id = completed.id
+    )
+    SELECT CAST(COUNT(*) AS INTEGER) FROM completed
+    """, nativeQuery = true)
     int markAsCompleted(@Param("id") UUID id,
+                        @Param("owner") String owner,
                         @Param("correctedText") String correctedText,
                         @Param("processedAt") LocalDateTime processedAt);
 
@@ -61,9 +161,11 @@ public interface CorrectionTaskRepository extends JpaRepository<CorrectionTask,
             "SET t.status = 'FAILED', " +
             "    t.errorMessage = :errorMessage, " +
             "    t.processedAt = :processedAt, " +
+            "    t.leaseExpiresAt = NULL, " +
             "    t.version = t.version + 1 " +
-            "WHERE t.id = :id AND t.status = 'PROCESSING'")
+            "WHERE t.id = :id AND t.status = 'PROCESSING' AND t.leaseOwner = :owner")
     int markAsFailed(@Param("id") UUID id,
+                     @Param("owner") String owner,
                      @Param("errorMessage") String errorMessage,
                      @Param("processedAt") LocalDateTime processedAt);
 }
\ No newline at end of file
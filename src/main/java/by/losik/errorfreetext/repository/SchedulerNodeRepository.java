@@ -0,0 +1,42 @@
+package by.losik.errorfreetext.repository;
+
+import by.losik.errorfreetext.entity.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    INSERT INTO scheduler_nodes (node_id)
+    VALUES (:nodeId)
+    ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = NOW()
+    """, nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+    DELETE FROM scheduler_nodes
+    WHERE heartbeat_at < NOW() - make_interval(secs => :ttlSeconds)
+    """, nativeQuery = true)
+    int deleteStale(@Param("ttlSeconds") double ttlSeconds);
+
+    @Query(value = """
+    SELECT node_id FROM scheduler_nodes
+    WHERE heartbeat_at >= NOW() - make_interval(secs => :ttlSeconds)
+    ORDER BY node_id
+    """, nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("ttlSeconds") double ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SchedulerNode n WHERE n.nodeId = :nodeId")
+    int deregister(@Param("nodeId") String nodeId);
+}
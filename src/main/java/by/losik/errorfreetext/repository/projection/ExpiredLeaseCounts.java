@@ -0,0 +1,8 @@
+package by.losik.errorfreetext.repository.projection;
+
+public interface ExpiredLeaseCounts {
+
+    int getReclaimed();
+
+    int getFailed();
+}
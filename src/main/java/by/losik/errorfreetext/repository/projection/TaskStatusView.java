@@ -0,0 +1,22 @@
+package by.losik.errorfreetext.repository.projection;
+
+import by.losik.errorfreetext.entity.Language;
+import by.losik.errorfreetext.entity.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TaskStatusView {
+
+    UUID getId();
+
+    TaskStatus getStatus();
+
+    Language getLanguage();
+
+    String getErrorMessage();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getProcessedAt();
+}
@@ -0,0 +1,6 @@
+package by.losik.errorfreetext.repository.projection;
+
+public interface TaskView extends TaskStatusView {
+
+    String getCorrectedText();
+}
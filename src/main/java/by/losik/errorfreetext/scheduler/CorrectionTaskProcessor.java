@@ -1,17 +1,15 @@
 package by.losik.errorfreetext.scheduler;
 
 import by.losik.errorfreetext.entity.CorrectionTask;
-import by.losik.errorfreetext.entity.TaskStatus;
 import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
-import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import by.losik.errorfreetext.service.TaskService;
 import by.losik.errorfreetext.service.TextCorrectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -19,41 +17,40 @@ import java.time.LocalDateTime;
 public class CorrectionTaskProcessor {
 
     private final TextCorrectionService textCorrectionService;
-    private final CorrectionTaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskLeaseManager leaseManager;
 
     @Async("taskExecutor")
-    @Transactional
-    public void processAsync(CorrectionTask task) {
+    public CompletableFuture<Void> processAsync(CorrectionTask task) {
         log.debug("Async processing task: {}", task.getId());
 
+        String correctedText;
         try {
-            String correctedText = textCorrectionService.correctText(
-                    task.getOriginalText(),
+            correctedText = textCorrectionService.correctText(
+                    taskService.getOriginalText(task.getId()),
                     task.getLanguage()
             );
-
-            task.setStatus(TaskStatus.COMPLETED);
-            task.setCorrectedText(correctedText);
-            task.setProcessedAt(LocalDateTime.now());
-            taskRepository.save(task);
-
-            log.debug("Task {} completed successfully", task.getId());
-
         } catch (YandexSpellerException e) {
             log.error("Yandex API error for task {}: {}", task.getId(), e.getMessage());
-
-            task.setStatus(TaskStatus.FAILED);
-            task.setErrorMessage("Yandex API error: " + e.getMessage());
-            task.setProcessedAt(LocalDateTime.now());
-            taskRepository.save(task);
-
+            completeAsFailed(task, "Yandex API error: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
             log.error("Unexpected error processing task {}: {}", task.getId(), e.getMessage(), e);
+            completeAsFailed(task, "Internal error: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (taskService.markTaskAsCompleted(task.getId(), leaseManager.getOwner(), correctedText)) {
+            log.debug("Task {} completed successfully", task.getId());
+        } else {
+            log.warn("Task {} is no longer leased to this node, result discarded", task.getId());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
 
-            task.setStatus(TaskStatus.FAILED);
-            task.setErrorMessage("Internal error: " + e.getMessage());
-            task.setProcessedAt(LocalDateTime.now());
-            taskRepository.save(task);
+    private void completeAsFailed(CorrectionTask task, String errorMessage) {
+        if (!taskService.markTaskAsFailed(task.getId(), leaseManager.getOwner(), errorMessage)) {
+            log.warn("Task {} is no longer leased to this node, failure not recorded", task.getId());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,41 +1,155 @@
 package by.losik.errorfreetext.scheduler;
 
+import by.losik.errorfreetext.config.BoundedTaskExecutor;
 import by.losik.errorfreetext.entity.CorrectionTask;
+import by.losik.errorfreetext.external.yandex.client.YandexSpellerCapacity;
 import by.losik.errorfreetext.repository.CorrectionTaskRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CorrectionTaskScheduler {
 
     private final CorrectionTaskRepository taskRepository;
     private final CorrectionTaskProcessor taskProcessor;
+    private final YandexSpellerCapacity spellerCapacity;
+    private final TaskLeaseManager leaseManager;
+    private final PartitionMembership partitionMembership;
+    private final BoundedTaskExecutor taskExecutor;
+    private final TaskScheduler refillScheduler;
+
+    private final AtomicBoolean refillPending = new AtomicBoolean();
 
     @Value("${app.scheduler.batch-size:5}")
     private int batchSize;
 
+    public CorrectionTaskScheduler(CorrectionTaskRepository taskRepository,
+                                   CorrectionTaskProcessor taskProcessor,
+                                   YandexSpellerCapacity spellerCapacity,
+                                   TaskLeaseManager leaseManager,
+                                   PartitionMembership partitionMembership,
+                                   @Qualifier("taskExecutor") BoundedTaskExecutor taskExecutor,
+                                   TaskScheduler refillScheduler) {
+        this.taskRepository = taskRepository;
+        this.taskProcessor = taskProcessor;
+        this.spellerCapacity = spellerCapacity;
+        this.leaseManager = leaseManager;
+        this.partitionMembership = partitionMembership;
+        this.taskExecutor = taskExecutor;
+        this.refillScheduler = refillScheduler;
+        // Fired after the worker has returned its permit, so the refill sees the slot as free
+        taskExecutor.addReleaseListener(this::requestRefill);
+    }
+
     @Scheduled(fixedDelayString = "${app.scheduler.poll-interval:1000}")
     public void dispatchTasks() {
-        int dispatched = 0;
+        dispatchBatch();
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.lease.heartbeat-interval:20000}")
+    public void renewLeases() {
+        leaseManager.renewLeases();
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.lease.reaper-interval:30000}")
+    public void reclaimExpiredTasks() {
+        if (leaseManager.reclaimExpired() > 0) {
+            dispatchBatch();
+        }
+    }
 
-        for (int i = 0; i < batchSize; i++) {
-            CorrectionTask task = taskRepository.pollNextTask().orElse(null);
+    public synchronized int dispatchBatch() {
+        int dispatched = 0;
 
-            if (task == null) {
+        while (true) {
+            int capacity = Math.min(batchSize, freeCapacity());
+            if (capacity <= 0) {
                 break;
             }
 
-            taskProcessor.processAsync(task);
-            dispatched++;
+            List<CorrectionTask> tasks = claim(capacity);
+            int submitted = 0;
+            for (CorrectionTask task : tasks) {
+                if (submit(task)) {
+                    submitted++;
+                }
+            }
+            dispatched += submitted;
+
+            if (tasks.size() < capacity || submitted < tasks.size()) {
+                break;
+            }
         }
 
         if (dispatched > 0) {
-            log.info("Dispatched {} tasks for processing", dispatched);
+            log.info("Dispatched {} tasks for processing, {} in flight", dispatched,
+                    taskExecutor.getMaxConcurrency() - taskExecutor.getAvailablePermits());
+        }
+
+        return dispatched;
+    }
+
+    // Free executor permits, further capped by the calls the speller rate limiter still allows this period
+    int freeCapacity() {
+        return Math.min(taskExecutor.getAvailablePermits(), spellerCapacity.availableRatePermits());
+    }
+
+    void requestRefill() {
+        if (!refillPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refillScheduler.schedule(this::refill, Instant.now());
+        } catch (TaskRejectedException e) {
+            refillPending.set(false);
+            log.warn("Failed to schedule executor refill, waiting for the next poll: {}", e.getMessage());
+        }
+    }
+
+    private void refill() {
+        refillPending.set(false);
+        try {
+            dispatchBatch();
+        } catch (Exception e) {
+            log.error("Failed to refill free executor capacity: {}", e.getMessage());
+        }
+    }
+
+    private List<CorrectionTask> claim(int limit) {
+        if (!partitionMembership.isEnabled()) {
+            return taskRepository.claimBatch(limit, leaseManager.getOwner(), leaseManager.getLeaseSeconds());
+        }
+
+        PartitionMembership.BucketRange range = partitionMembership.currentRange();
+        if (range.isEmpty()) {
+            return List.of();
+        }
+
+        return taskRepository.claimBatchInBuckets(limit, range.first(), range.last(),
+                leaseManager.getOwner(), leaseManager.getLeaseSeconds());
+    }
+
+    private boolean submit(CorrectionTask task) {
+        leaseManager.hold(task.getId());
+        try {
+            taskProcessor.processAsync(task).whenComplete((result, error) -> leaseManager.release(task.getId()));
+            return true;
+        } catch (TaskRejectedException e) {
+            leaseManager.release(task.getId());
+            log.warn("Executor rejected task {}, returning it to the queue: {}", task.getId(), e.getMessage());
+            taskRepository.releaseClaim(task.getId(), leaseManager.getOwner());
+            return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.repository.SchedulerNodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionMembership {
+
+    public static final int BUCKET_COUNT = 64;
+
+    private final SchedulerNodeRepository nodeRepository;
+    private final TaskLeaseManager leaseManager;
+
+    @Value("${app.scheduler.partition.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.scheduler.partition.node-ttl:15000}")
+    private long nodeTtl;
+
+    private volatile BucketRange range;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.partition.heartbeat-interval:5000}")
+    public void heartbeat() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    public BucketRange currentRange() {
+        BucketRange current = range;
+        return current != null ? current : refresh();
+    }
+
+    synchronized BucketRange refresh() {
+        String nodeId = leaseManager.getOwner();
+        double ttlSeconds = nodeTtl / 1000.0;
+
+        nodeRepository.heartbeat(nodeId);
+        nodeRepository.deleteStale(ttlSeconds);
+        List<String> liveNodes = nodeRepository.findLiveNodeIds(ttlSeconds);
+
+        BucketRange updated = assign(liveNodes, nodeId);
+        if (!updated.equals(range)) {
+            log.info("Node {} now owns task buckets {}-{} of {} ({} live nodes)",
+                    nodeId, updated.first(), updated.last(), BUCKET_COUNT, liveNodes.size());
+        }
+
+        range = updated;
+        return updated;
+    }
+
+    @PreDestroy
+    public void deregister() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            nodeRepository.deregister(leaseManager.getOwner());
+        } catch (DataAccessException e) {
+            log.warn("Failed to deregister scheduler node {}: {}", leaseManager.getOwner(), e.getMessage());
+        }
+    }
+
+    static BucketRange assign(List<String> liveNodes, String nodeId) {
+        int index = liveNodes.indexOf(nodeId);
+        int nodeCount = Math.min(liveNodes.size(), BUCKET_COUNT);
+        // A node missing from the list (e.g. its heartbeat was purged as stale) must not claim buckets owned by others
+        if (index < 0 || index >= nodeCount) {
+            return BucketRange.EMPTY;
+        }
+
+        int first = index * BUCKET_COUNT / nodeCount;
+        int last = (index + 1) * BUCKET_COUNT / nodeCount - 1;
+        return new BucketRange(first, last);
+    }
+
+    public record BucketRange(int first, int last) {
+
+        static final BucketRange EMPTY = new BucketRange(0, -1);
+
+        public boolean isEmpty() {
+            return first > last;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import by.losik.errorfreetext.repository.projection.ExpiredLeaseCounts;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskLeaseManager {
+
+    private final CorrectionTaskRepository taskRepository;
+
+    private final Set<UUID> heldLeases = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.scheduler.lease.owner:}")
+    private String configuredOwner;
+
+    @Value("${app.scheduler.lease.duration:60000}")
+    private long leaseDuration;
+
+    @Value("${app.scheduler.lease.max-attempts:3}")
+    private int maxAttempts;
+
+    private volatile String owner;
+
+    public String getOwner() {
+        if (owner == null) {
+            owner = configuredOwner == null || configuredOwner.isBlank() ? defaultOwner() : configuredOwner;
+        }
+        return owner;
+    }
+
+    public double getLeaseSeconds() {
+        return leaseDuration / 1000.0;
+    }
+
+    public void hold(UUID taskId) {
+        heldLeases.add(taskId);
+    }
+
+    public void release(UUID taskId) {
+        heldLeases.remove(taskId);
+    }
+
+    public int renewLeases() {
+        if (heldLeases.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> taskIds = List.copyOf(heldLeases);
+        int renewed = taskRepository.renewLeases(taskIds, getOwner(), getLeaseSeconds());
+
+        if (renewed < taskIds.size()) {
+            log.warn("Renewed {} of {} task leases held by {}", renewed, taskIds.size(), getOwner());
+        } else {
+            log.debug("Renewed {} task leases held by {}", renewed, getOwner());
+        }
+
+        return renewed;
+    }
+
+    public int reclaimExpired() {
+        ExpiredLeaseCounts expired = taskRepository.reclaimExpiredLeases(maxAttempts,
+                "Processing lease expired after " + maxAttempts + " attempts");
+
+        if (expired.getFailed() > 0 || expired.getReclaimed() > 0) {
+            log.warn("Expired task leases: {} returned to NEW, {} marked FAILED",
+                    expired.getReclaimed(), expired.getFailed());
+        }
+
+        return expired.getReclaimed();
+    }
+
+    private static String defaultOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
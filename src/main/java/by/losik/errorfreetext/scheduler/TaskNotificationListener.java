@@ -0,0 +1,140 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.repository.CorrectionTaskBatchRepository;
+import by.losik.errorfreetext.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.scheduler.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskNotificationListener implements SmartLifecycle {
+
+    public static final String CHANNEL = "correction_tasks_new";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CorrectionTaskScheduler taskScheduler;
+    private final TaskService taskService;
+
+    @Value("${app.scheduler.notify.receive-timeout:5000}")
+    private int receiveTimeout;
+
+    @Value("${app.scheduler.notify.reconnect-delay:5000}")
+    private long reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "task-notify-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                    statement.execute("LISTEN " + CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL);
+                }
+                log.info("Listening for task notifications on channels '{}' and '{}'",
+                        CHANNEL, CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL);
+
+                // Tasks inserted while we were not listening produced no notification for us
+                taskScheduler.dispatchBatch();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(receiveTimeout);
+                    if (notifications != null && notifications.length > 0) {
+                        handle(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Task notification listener disconnected: {}. Reconnecting in {} ms",
+                            e.getMessage(), reconnectDelay);
+                    pause();
+                }
+            } catch (Exception e) {
+                if (running) {
+                    log.error("Failed to dispatch tasks on notification: {}", e.getMessage(), e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    void handle(PGNotification[] notifications) {
+        boolean newTasks = false;
+
+        for (PGNotification notification : notifications) {
+            if (CHANNEL.equals(notification.getName())) {
+                newTasks = true;
+            } else if (CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL.equals(notification.getName())) {
+                notifyWaiters(notification.getParameter());
+            }
+        }
+
+        if (newTasks) {
+            log.debug("Received new task notifications, dispatching");
+            taskScheduler.dispatchBatch();
+        }
+    }
+
+    private void notifyWaiters(String taskId) {
+        try {
+            taskService.notifyWaiters(UUID.fromString(taskId));
+        } catch (Exception e) {
+            log.warn("Failed to notify waiters of finished task {}: {}", taskId, e.getMessage());
+        }
+    }
+
+    Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,16 +1,52 @@
 package by.losik.errorfreetext.service;
 
+import by.losik.errorfreetext.dto.TaskDto;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class CacheService {
-    @CacheEvict(value = "tasks", key = "#taskId")
+
+    public static final String TASKS_CACHE = "tasks";
+
+    private final CacheManager cacheManager;
+
+    @CacheEvict(value = TASKS_CACHE, key = "#taskId")
     public void evictTaskCache(UUID taskId) {
         log.debug("Evicting cache for task: {}", taskId);
     }
-}
\ No newline at end of file
+
+    public Map<UUID, TaskDto.GetResponse> getCachedTasks(Collection<UUID> taskIds) {
+        Map<UUID, TaskDto.GetResponse> cached = new HashMap<>();
+        Cache cache = cacheManager.getCache(TASKS_CACHE);
+        if (cache == null) {
+            return cached;
+        }
+
+        for (UUID taskId : taskIds) {
+            TaskDto.GetResponse response = cache.get(taskId, TaskDto.GetResponse.class);
+            if (response != null) {
+                cached.put(taskId, response);
+            }
+        }
+        return cached;
+    }
+
+    public void cacheTask(TaskDto.GetResponse response) {
+        Cache cache = cacheManager.getCache(TASKS_CACHE);
+        if (cache != null) {
+            cache.put(response.getTaskId(), response);
+        }
+    }
+}
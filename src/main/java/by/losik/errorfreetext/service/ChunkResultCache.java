@@ -0,0 +1,99 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import by.losik.errorfreetext.util.HashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+public class ChunkResultCache {
+
+    public static final String CACHE_NAME = "chunk-results";
+
+    private final CacheManager cacheManager;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${app.correction.chunk-cache.enabled:true}")
+    private boolean enabled;
+
+    public ChunkResultCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.hits = Counter.builder("correction.chunk.cache.requests")
+                .description("Chunk result cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("correction.chunk.cache.requests")
+                .description("Chunk result cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("correction.chunk.cache.hit.ratio", this, ChunkResultCache::hitRatio)
+                .description("Share of chunks served without a speller call")
+                .register(meterRegistry);
+    }
+
+    public Optional<List<SpellResult>> get(CharSequence chunk, String lang, int options) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        @SuppressWarnings("unchecked")
+        List<SpellResult> cached = cache != null ? cache.get(key(chunk, lang, options), List.class) : null;
+
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(copyOf(cached));
+    }
+
+    public void put(CharSequence chunk, String lang, int options, List<SpellResult> results) {
+        if (!enabled || results == null) {
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.put(key(chunk, lang, options), copyOf(results));
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private String key(CharSequence chunk, String lang, int options) {
+        return HashUtils.sha256Hex(lang + ':' + options + ':', chunk);
+    }
+
+    private static List<SpellResult> copyOf(List<SpellResult> results) {
+        List<SpellResult> copy = new ArrayList<>(results.size());
+        for (SpellResult result : results) {
+            copy.add(SpellResult.builder()
+                    .code(result.getCode())
+                    .pos(result.getPos())
+                    .row(result.getRow())
+                    .col(result.getCol())
+                    .len(result.getLen())
+                    .word(result.getWord())
+                    .suggestions(result.getSuggestions())
+                    .build());
+        }
+        return copy;
+    }
+}
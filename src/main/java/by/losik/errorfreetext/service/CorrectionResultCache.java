@@ -0,0 +1,116 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.entity.Language;
+import by.losik.errorfreetext.repository.CorrectionResultRepository;
+import by.losik.errorfreetext.util.HashUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorrectionResultCache {
+
+    public static final String CACHE_NAME = "corrections";
+
+    private final CacheManager cacheManager;
+    private final CorrectionResultRepository resultRepository;
+
+    @Value("${app.correction.result-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.correction.result-cache.persistent:true}")
+    private boolean persistent;
+
+    @Value("${app.correction.result-cache.ttl-days:30}")
+    private int ttlDays;
+
+    @Value("${app.correction.result-cache.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public String key(String text, Language language, int enabledOptions) {
+        return HashUtils.sha256Hex(language.name() + ':' + enabledOptions + ':', text);
+    }
+
+    public Optional<String> get(String key) {
+        if (!enabled || key == null) {
+            return Optional.empty();
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String cached = cache != null ? cache.get(key, String.class) : null;
+        if (cached != null) {
+            log.debug("Correction result cache hit (memory): {}", key);
+            return Optional.of(cached);
+        }
+
+        if (!persistent) {
+            return Optional.empty();
+        }
+
+        try {
+            Optional<String> stored = resultRepository.findCorrectedTextByCacheKey(key);
+            stored.ifPresent(correctedText -> {
+                log.debug("Correction result cache hit (database): {}", key);
+                if (cache != null) {
+                    cache.put(key, correctedText);
+                }
+            });
+            return stored;
+        } catch (DataAccessException e) {
+            log.warn("Failed to read correction result cache: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, Language language, String correctedText) {
+        if (!enabled || key == null || correctedText == null) {
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.put(key, correctedText);
+        }
+
+        if (persistent) {
+            try {
+                resultRepository.insertIfAbsent(key, language.name(), correctedText);
+            } catch (DataAccessException e) {
+                log.warn("Failed to store correction result in cache: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.correction.result-cache.purge-interval:3600000}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ttlDays);
+        int purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = resultRepository.deleteCreatedBefore(cutoff, purgeBatchSize);
+                purged += deleted;
+            } while (deleted == purgeBatchSize);
+        } catch (DataAccessException e) {
+            log.warn("Failed to purge expired correction results: {}", e.getMessage());
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} correction results older than {} days", purged, ttlDays);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.dto.TaskDto;
+import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.external.yandex.client.YandexSpellerCapacity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Service
+public class SyncCorrectionService {
+
+    private final TextCorrectionService textCorrectionService;
+    private final TaskService taskService;
+    private final CacheService cacheService;
+    private final YandexSpellerCapacity spellerCapacity;
+    private final int maxTextLength;
+    private final Semaphore inlineSlots;
+    private final Counter inline;
+    private final Counter deferred;
+
+    public SyncCorrectionService(TextCorrectionService textCorrectionService,
+                                 TaskService taskService,
+                                 CacheService cacheService,
+                                 YandexSpellerCapacity spellerCapacity,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.tasks.sync.max-text-length:500}") int maxTextLength,
+                                 @Value("${app.tasks.sync.max-concurrency:20}") int maxConcurrency) {
+        this.textCorrectionService = textCorrectionService;
+        this.taskService = taskService;
+        this.cacheService = cacheService;
+        this.spellerCapacity = spellerCapacity;
+        this.maxTextLength = maxTextLength;
+        this.inlineSlots = new Semaphore(maxConcurrency);
+        this.inline = Counter.builder("tasks.sync.requests")
+                .description("Synchronous correction requests by how they were served")
+                .tag("result", "inline")
+                .register(meterRegistry);
+        this.deferred = Counter.builder("tasks.sync.requests")
+                .description("Synchronous correction requests by how they were served")
+                .tag("result", "deferred")
+                .register(meterRegistry);
+    }
+
+    // Empty means the text was not corrected inline and the caller should queue a regular task
+    public Optional<TaskDto.GetResponse> correct(TaskDto.CreateRequest request) {
+        if (request.getText().length() > maxTextLength) {
+            return defer(request, "text is longer than " + maxTextLength + " characters");
+        }
+        if (!inlineSlots.tryAcquire()) {
+            return defer(request, "no free inline slots");
+        }
+
+        try {
+            if (spellerCapacity.availableRatePermits() == 0) {
+                return defer(request, "speller has no free capacity");
+            }
+            return Optional.of(correctInline(request));
+        } catch (Exception e) {
+            log.warn("Inline correction failed, falling back to a queued task: {}", e.getMessage());
+            return defer(request, "inline correction failed");
+        } finally {
+            inlineSlots.release();
+        }
+    }
+
+    private TaskDto.GetResponse correctInline(TaskDto.CreateRequest request) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String correctedText = textCorrectionService.correctText(request.getText(), request.getLanguage());
+
+        TaskDto.GetResponse response = TaskDto.GetResponse.builder()
+                .taskId(UUID.randomUUID())
+                .status(TaskStatus.COMPLETED)
+                .correctedText(correctedText)
+                .language(request.getLanguage())
+                .createdAt(createdAt)
+                .processedAt(LocalDateTime.now())
+                .build();
+
+        // The row must exist before the 201, otherwise another node or a cache miss would answer 404
+        taskService.persistCompletedTask(response, request.getText());
+        cacheService.cacheTask(response);
+
+        inline.increment();
+        log.debug("Task {} corrected inline", response.getTaskId());
+        return response;
+    }
+
+    private Optional<TaskDto.GetResponse> defer(TaskDto.CreateRequest request, String reason) {
+        deferred.increment();
+        log.debug("Inline correction skipped, the task will be queued: {}", reason);
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,67 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.dto.TaskDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class TaskCompletionRegistry {
+
+    private final ConcurrentHashMap<UUID, Set<CompletableFuture<TaskDto.GetResponse>>> waiters =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    public TaskCompletionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("tasks.completion.waiters", waiterCount, AtomicInteger::get)
+                .description("Clients waiting for a task to reach a final status")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<TaskDto.GetResponse> register(UUID taskId) {
+        CompletableFuture<TaskDto.GetResponse> waiter = new CompletableFuture<>();
+        waiters.compute(taskId, (id, taskWaiters) -> {
+            Set<CompletableFuture<TaskDto.GetResponse>> set =
+                    taskWaiters != null ? taskWaiters : ConcurrentHashMap.newKeySet();
+            set.add(waiter);
+            return set;
+        });
+        waiterCount.incrementAndGet();
+        waiter.whenComplete((response, error) -> unregister(taskId, waiter));
+        return waiter;
+    }
+
+    public boolean hasWaiters(UUID taskId) {
+        return waiters.containsKey(taskId);
+    }
+
+    public void complete(UUID taskId, TaskDto.GetResponse response) {
+        Set<CompletableFuture<TaskDto.GetResponse>> taskWaiters = waiters.remove(taskId);
+        if (taskWaiters == null) {
+            return;
+        }
+
+        log.debug("Notifying {} waiter(s) of task {} completion", taskWaiters.size(), taskId);
+        taskWaiters.forEach(waiter -> waiter.complete(response));
+    }
+
+    public int getWaiterCount() {
+        return waiterCount.get();
+    }
+
+    private void unregister(UUID taskId, CompletableFuture<TaskDto.GetResponse> waiter) {
+        waiterCount.decrementAndGet();
+        waiters.computeIfPresent(taskId, (id, taskWaiters) -> {
+            taskWaiters.remove(waiter);
+            return taskWaiters.isEmpty() ? null : taskWaiters;
+        });
+    }
+}
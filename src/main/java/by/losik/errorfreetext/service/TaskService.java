@@ -2,19 +2,36 @@ package by.losik.errorfreetext.service;
 
 import by.losik.errorfreetext.dto.TaskDto;
 import by.losik.errorfreetext.entity.CorrectionTask;
+import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.exception.TaskBatchTooLargeException;
 import by.losik.errorfreetext.exception.TaskNotFoundException;
 import by.losik.errorfreetext.mapper.TaskMapper;
+import by.losik.errorfreetext.repository.CorrectionTaskPayloadRepository;
 import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import by.losik.errorfreetext.repository.projection.TaskView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -22,8 +39,21 @@ import java.util.UUID;
 public class TaskService {
 
     private final CorrectionTaskRepository taskRepository;
+    private final CorrectionTaskPayloadRepository payloadRepository;
     private final TaskMapper taskMapper;
     private final CacheService cacheService;
+    private final TextCorrectionService textCorrectionService;
+    private final TaskCompletionRegistry completionRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.tasks.batch.max-size:50000}")
+    private int maxBatchSize;
+
+    @Value("${app.tasks.batch.insert-batch-size:1000}")
+    private int insertBatchSize;
+
+    @Value("${app.tasks.status.max-ids:1000}")
+    private int maxStatusIds;
 
     @Transactional
     @Caching(evict = {
@@ -32,18 +62,133 @@ public class TaskService {
     })
     public TaskDto.CreateResponse createTask(TaskDto.CreateRequest request) {
         CorrectionTask task = taskMapper.toEntity(request);
+
+        textCorrectionService.findCachedCorrection(task.getOriginalText(), task.getLanguage())
+                .ifPresent(correctedText -> {
+                    log.debug("Correction result found in cache, completing task immediately");
+                    task.setStatus(TaskStatus.COMPLETED);
+                    task.setCorrectedText(correctedText);
+                    task.setProcessedAt(LocalDateTime.now());
+                });
+
         CorrectionTask savedTask = taskRepository.save(task);
+        payloadRepository.insert(savedTask.getId(), task.getOriginalText(), task.getCorrectedText());
         log.debug("Task created with ID: {}", savedTask.getId());
         return taskMapper.toCreateResponse(savedTask);
     }
 
     @Transactional
+    public void persistCompletedTask(TaskDto.GetResponse completed, String originalText) {
+        CorrectionTask task = CorrectionTask.builder()
+                .id(completed.getTaskId())
+                .originalText(originalText)
+                .correctedText(completed.getCorrectedText())
+                .status(TaskStatus.COMPLETED)
+                .language(completed.getLanguage())
+                .createdAt(completed.getCreatedAt())
+                .processedAt(completed.getProcessedAt())
+                .build();
+
+        taskRepository.insertAll(List.of(task));
+        log.debug("Synchronously corrected task persisted: {}", task.getId());
+    }
+
+    @CacheEvict(value = "tasks-processing", allEntries = true)
+    public TaskDto.BatchCreateResponse createTasks(Stream<TaskDto.CreateRequest> requests) {
+        // The upload is read and validated before the transaction starts, so a slow client never holds a connection;
+        // the controller caps the body size, which bounds what is buffered here
+        List<List<CorrectionTask>> chunks = readChunks(requests);
+        transactionTemplate.executeWithoutResult(status -> chunks.forEach(taskRepository::insertAll));
+
+        List<UUID> taskIds = chunks.stream()
+                .flatMap(List::stream)
+                .map(CorrectionTask::getId)
+                .toList();
+
+        log.debug("Batch of {} tasks created", taskIds.size());
+        return TaskDto.BatchCreateResponse.builder()
+                .taskIds(taskIds)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     @Cacheable(value = "tasks", key = "#taskId", unless = "#result == null")
     public TaskDto.GetResponse getTask(UUID taskId) {
-        CorrectionTask task = taskRepository.findById(taskId)
+        return loadTask(taskId);
+    }
+
+    public CompletableFuture<TaskDto.GetResponse> awaitTask(UUID taskId, long waitMs) {
+        CompletableFuture<TaskDto.GetResponse> waiter = completionRegistry.register(taskId);
+
+        TaskDto.GetResponse current;
+        try {
+            current = loadTask(taskId);
+        } catch (RuntimeException e) {
+            waiter.cancel(false);
+            throw e;
+        }
+
+        if (isFinal(current.getStatus()) || waitMs <= 0) {
+            waiter.complete(current);
+            return waiter;
+        }
+
+        return waiter.completeOnTimeout(current, waitMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskDto.GetResponse getTaskStatus(UUID taskId) {
+        return taskRepository.findStatusById(taskId)
+                .map(taskMapper::toGetResponseFromStatusView)
                 .orElseThrow(() -> new TaskNotFoundException("Task with id: " + taskId + " not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskDto.StatusResponse getTaskStatuses(List<UUID> taskIds) {
+        Set<UUID> ids = new LinkedHashSet<>(taskIds);
+        if (ids.size() > maxStatusIds) {
+            throw new TaskBatchTooLargeException("Status request exceeds the limit of " + maxStatusIds + " tasks");
+        }
+
+        Map<UUID, TaskDto.GetResponse> found = cacheService.getCachedTasks(ids);
+        List<UUID> missing = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
 
-        return taskMapper.toGetResponse(task);
+        if (!missing.isEmpty()) {
+            for (TaskView view : taskRepository.findViewsByIds(missing)) {
+                TaskDto.GetResponse response = taskMapper.toGetResponseFromView(view);
+                found.put(response.getTaskId(), response);
+                // Only final states are cached: they change no more, while in-flight ones would just churn the cache
+                if (isFinal(response.getStatus())) {
+                    cacheService.cacheTask(response);
+                }
+            }
+        }
+        log.debug("Status lookup for {} tasks: {} from cache, {} from database",
+                ids.size(), ids.size() - missing.size(), missing.size());
+
+        List<TaskDto.GetResponse> tasks = new ArrayList<>(ids.size());
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : ids) {
+            TaskDto.GetResponse response = found.get(id);
+            if (response != null) {
+                tasks.add(response);
+            } else {
+                notFound.add(id);
+            }
+        }
+
+        return TaskDto.StatusResponse.builder()
+                .tasks(tasks)
+                .notFound(notFound)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public String getOriginalText(UUID taskId) {
+        return payloadRepository.findOriginalTextByTaskId(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Payload of task with id: " + taskId + " not found"));
     }
 
     @Transactional
@@ -51,15 +196,16 @@ public class TaskService {
             @CacheEvict(value = "tasks", key = "#taskId"),
             @CacheEvict(value = "tasks-processing", allEntries = true)
     })
-    public boolean markTaskAsCompleted(UUID taskId, String correctedText) {
+    public boolean markTaskAsCompleted(UUID taskId, String owner, String correctedText) {
         log.debug("Marking task as completed: {}", taskId);
 
-        int updated = taskRepository.markAsCompleted(taskId, correctedText, LocalDateTime.now());
+        int updated = taskRepository.markAsCompleted(taskId, owner, correctedText, LocalDateTime.now());
         boolean success = updated > 0;
 
         if (success) {
             log.debug("Task marked as completed: {}", taskId);
             cacheService.evictTaskCache(taskId);
+            publishCompletion(taskId);
         }
 
         return success;
@@ -70,17 +216,86 @@ public class TaskService {
             @CacheEvict(value = "tasks", key = "#taskId"),
             @CacheEvict(value = "tasks-processing", allEntries = true)
     })
-    public boolean markTaskAsFailed(UUID taskId, String errorMessage) {
+    public boolean markTaskAsFailed(UUID taskId, String owner, String errorMessage) {
         log.debug("Marking task as failed: {}", taskId);
 
-        int updated = taskRepository.markAsFailed(taskId, errorMessage, LocalDateTime.now());
+        int updated = taskRepository.markAsFailed(taskId, owner, errorMessage, LocalDateTime.now());
         boolean success = updated > 0;
 
         if (success) {
             log.debug("Task marked as failed: {}", taskId);
             cacheService.evictTaskCache(taskId);
+            publishCompletion(taskId);
         }
 
         return success;
     }
-}
\ No newline at end of file
+
+    private TaskDto.GetResponse loadTask(UUID taskId) {
+        return taskRepository.findViewById(taskId)
+                .map(taskMapper::toGetResponseFromView)
+                .orElseThrow(() -> new TaskNotFoundException("Task with id: " + taskId + " not found"));
+    }
+
+    public void notifyWaiters(UUID taskId) {
+        if (!completionRegistry.hasWaiters(taskId)) {
+            return;
+        }
+        completionRegistry.complete(taskId, loadTask(taskId));
+    }
+
+    private void publishCompletion(UUID taskId) {
+        // Waiters on other nodes learn about the final status from the notification sent on commit
+        taskRepository.notifyTaskFinished(taskId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyWaiters(taskId);
+            return;
+        }
+
+        // Checked only after commit, so a waiter that registered while this transaction ran is not missed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    notifyWaiters(taskId);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to notify waiters of task {}: {}", taskId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private List<List<CorrectionTask>> readChunks(Stream<TaskDto.CreateRequest> requests) {
+        List<List<CorrectionTask>> chunks = new ArrayList<>();
+        List<CorrectionTask> chunk = new ArrayList<>(insertBatchSize);
+        LocalDateTime createdAt = LocalDateTime.now();
+        int count = 0;
+
+        Iterator<TaskDto.CreateRequest> iterator = requests.iterator();
+        while (iterator.hasNext()) {
+            if (count >= maxBatchSize) {
+                throw new TaskBatchTooLargeException("Batch exceeds the limit of " + maxBatchSize + " tasks");
+            }
+
+            CorrectionTask task = taskMapper.toEntity(iterator.next());
+            task.setId(UUID.randomUUID());
+            task.setCreatedAt(createdAt);
+            chunk.add(task);
+            count++;
+
+            if (chunk.size() >= insertBatchSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(insertBatchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static boolean isFinal(TaskStatus status) {
+        return status == TaskStatus.COMPLETED || status == TaskStatus.FAILED;
+    }
+}
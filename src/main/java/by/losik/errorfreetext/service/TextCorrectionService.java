@@ -1,24 +1,38 @@
 package by.losik.errorfreetext.service;
 
+import by.losik.errorfreetext.config.YandexSpellerConfig;
 import by.losik.errorfreetext.entity.Language;
-import by.losik.errorfreetext.external.yandex.client.YandexSpellerClient;
+import by.losik.errorfreetext.external.yandex.client.YandexSpellerBatcher;
 import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
 import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import by.losik.errorfreetext.util.TextChunk;
+import by.losik.errorfreetext.util.TextFeatures;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.validator.routines.UrlValidator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TextCorrectionService {
 
-    private final YandexSpellerClient spellerClient;
+    private final YandexSpellerBatcher spellerBatcher;
+    private final CorrectionResultCache resultCache;
+    private final ChunkResultCache chunkCache;
+    private final YandexSpellerConfig spellerConfig;
 
     @Value("${app.correction.max-chunk-size:10000}")
     private int MAX_CHUNK_SIZE;
@@ -29,37 +43,125 @@ public class TextCorrectionService {
     @Value("${app.correction.ignore-digits:2}")
     private int ignoreDigits;
 
+    @Value("${app.correction.max-parallel-requests:4}")
+    private int maxParallelRequests;
+
     public String correctText(String text, Language language) {
         log.info("Starting text correction for language: {}, text length: {}", language, text.length());
 
-        List<String> chunks = splitText(text, MAX_CHUNK_SIZE);
-        log.debug("Split text into {} chunks", chunks.size());
-
-        int options = calculateOptions(text);
-        log.debug("Using options: {}", options);
+        String cacheKey = resultCacheKey(text, language);
+        Optional<String> cached = resultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("Text correction served from result cache, text length: {}", text.length());
+            return cached.get();
+        }
 
-        List<List<SpellResult>> allResults = spellerClient.checkTextsWithRetry(
-                chunks,
-                language.name().toLowerCase(),
-                options
-        );
+        List<TextChunk> chunks = splitText(text, MAX_CHUNK_SIZE);
+        log.debug("Split text into {} chunks", chunks.size());
 
-        if (allResults == null) {
-            throw new YandexSpellerException("Yandex Speller API returned null response");
-        }
+        List<List<SpellResult>> allResults = checkChunks(chunks, language.name().toLowerCase());
 
         String correctedText = applyCorrections(text, chunks, allResults);
         log.info("Text correction completed. Original length: {}, corrected length: {}",
                 text.length(), correctedText.length());
 
+        resultCache.put(cacheKey, language, correctedText);
         return correctedText;
     }
 
-    private List<String> splitText(String text, int maxChunkSize) {
-        List<String> chunks = new ArrayList<>();
+    public Optional<String> findCachedCorrection(String text, Language language) {
+        return resultCache.get(resultCacheKey(text, language));
+    }
+
+    // Options are derived from the text itself, so the text and the configured flags fully determine them
+    // and the whole text is never scanned up front just to build the key
+    private String resultCacheKey(String text, Language language) {
+        return resultCache.key(text, language, ignoreDigits | ignoreUrls);
+    }
+
+    private List<List<SpellResult>> checkChunks(List<TextChunk> chunks, String lang) {
+        List<List<SpellResult>> allResults = new ArrayList<>(Collections.nCopies(chunks.size(), null));
+        Map<Integer, ChunkRequest> openRequests = new LinkedHashMap<>();
+        Deque<ChunkRequest> inFlight = new ArrayDeque<>(Math.max(1, maxParallelRequests));
+        int missed = 0;
+        int sent = 0;
+
+        // Chunks are scanned and looked up one by one, and a request leaves as soon as it is full,
+        // so scanning the rest of the text overlaps with the calls already in flight
+        for (int i = 0; i < chunks.size(); i++) {
+            TextChunk chunk = chunks.get(i);
+            int options = calculateOptions(chunk);
+
+            Optional<List<SpellResult>> cached = chunkCache.get(chunk, lang, options);
+            if (cached.isPresent()) {
+                allResults.set(i, cached.get());
+                continue;
+            }
+            missed++;
+
+            ChunkRequest request = openRequests.computeIfAbsent(options, ChunkRequest::new);
+            if (!request.indexes.isEmpty() && request.chars + chunk.length() > spellerConfig.getMaxRequestChars()) {
+                send(request, inFlight, chunks, lang, allResults);
+                sent++;
+                request = new ChunkRequest(options);
+                openRequests.put(options, request);
+            }
+            request.add(i, chunk);
+        }
+
+        for (ChunkRequest request : openRequests.values()) {
+            send(request, inFlight, chunks, lang, allResults);
+            sent++;
+        }
+
+        while (!inFlight.isEmpty()) {
+            collectResults(inFlight.poll(), chunks, lang, allResults);
+        }
+
+        log.debug("Chunk cache: {} of {} chunks missed, sent {} requests", missed, chunks.size(), sent);
+        return allResults;
+    }
+
+    private void send(ChunkRequest request, Deque<ChunkRequest> inFlight, List<TextChunk> chunks, String lang,
+                      List<List<SpellResult>> allResults) {
+        if (inFlight.size() >= Math.max(1, maxParallelRequests)) {
+            collectResults(inFlight.poll(), chunks, lang, allResults);
+        }
+        request.response = spellerBatcher.submit(request.chunks, lang, request.options);
+        inFlight.add(request);
+    }
+
+    private void collectResults(ChunkRequest request, List<TextChunk> chunks, String lang,
+                                List<List<SpellResult>> allResults) {
+        List<List<SpellResult>> fetched = awaitResults(request.response);
+
+        if (fetched == null) {
+            throw new YandexSpellerException("Yandex Speller API returned null response");
+        }
+
+        for (int i = 0; i < Math.min(fetched.size(), request.indexes.size()); i++) {
+            int chunkIndex = request.indexes.get(i);
+            chunkCache.put(chunks.get(chunkIndex), lang, request.options, fetched.get(i));
+            allResults.set(chunkIndex, fetched.get(i));
+        }
+    }
+
+    private List<List<SpellResult>> awaitResults(CompletableFuture<List<List<SpellResult>>> request) {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new YandexSpellerException("Speller call failed: " + e.getMessage(), e);
+        }
+    }
+
+    private List<TextChunk> splitText(String text, int maxChunkSize) {
+        List<TextChunk> chunks = new ArrayList<>();
 
         if (text.length() <= maxChunkSize) {
-            chunks.add(text);
+            chunks.add(TextChunk.of(text));
             return chunks;
         }
 
@@ -68,19 +170,19 @@ public class TextCorrectionService {
             int end = Math.min(start + maxChunkSize, text.length());
 
             if (end < text.length()) {
-                end = findBreakPoint(text, start, end);
+                end = findBreakPoint(text, start, end, maxChunkSize);
             }
 
-            chunks.add(text.substring(start, end));
+            chunks.add(new TextChunk(text, start, end));
             start = end;
         }
 
         return chunks;
     }
 
-    private int findBreakPoint(String text, int start, int end) {
+    private int findBreakPoint(String text, int start, int end, int maxChunkSize) {
 
-        int hardLimit = start + MAX_CHUNK_SIZE;
+        int hardLimit = start + maxChunkSize;
 
         for (int i = end - 1; i > start; i--) {
             char c = text.charAt(i);
@@ -97,88 +199,115 @@ public class TextCorrectionService {
         return hardLimit;
     }
 
-    private int calculateOptions(String text) {
+    private int calculateOptions(CharSequence text) {
+        TextFeatures features = TextFeatures.scan(text);
         int options = 0;
-        if (containsDigits(text)) {
+        if (features.hasDigits()) {
             options |= ignoreDigits;
         }
-        if (containsUrls(text)) {
+        if (features.hasUrls()) {
             options |= ignoreUrls;
         }
         return options;
     }
 
-    private boolean containsDigits(String text) {
-        for (char c : text.toCharArray()) {
-            if (Character.isDigit(c)) {
-                return true;
+    private String applyCorrections(String originalText, List<? extends CharSequence> chunks,
+                                    List<List<SpellResult>> allResults) {
+        List<Correction> corrections = new ArrayList<>();
+
+        int globalOffset = 0;
+
+        for (int chunkIndex = 0; chunkIndex < Math.min(chunks.size(), allResults.size()); chunkIndex++) {
+            int chunkLength = chunks.get(chunkIndex).length();
+            collectCorrections(originalText, globalOffset, globalOffset + chunkLength,
+                    allResults.get(chunkIndex), corrections);
+            globalOffset += chunkLength;
+        }
+
+        if (corrections.isEmpty()) {
+            return originalText;
+        }
+
+        corrections.sort(Comparator.comparingInt(Correction::start));
+
+        // On overlap the right-most correction wins, as it did when replacements were applied back to front
+        boolean[] accepted = new boolean[corrections.size()];
+        int boundary = originalText.length();
+        int growth = 0;
+        for (int i = corrections.size() - 1; i >= 0; i--) {
+            Correction correction = corrections.get(i);
+            if (correction.end() <= boundary) {
+                accepted[i] = true;
+                boundary = correction.start();
+                growth += Math.max(0, correction.replacement().length() - (correction.end() - correction.start()));
             }
         }
-        return false;
-    }
 
-    private boolean containsUrls(String text) {
-        UrlValidator validator = new UrlValidator(
-                new String[]{"http", "https", "ftp", "file"},
-                UrlValidator.ALLOW_LOCAL_URLS
-        );
+        StringBuilder result = new StringBuilder(originalText.length() + growth);
+        int cursor = 0;
 
-        for (String word : text.split("[\\s,;:\"'()\\[\\]{}<>]+")) {
-            if (validator.isValid(word) ||
-                    (word.startsWith("www.") && validator.isValid("http://" + word))) {
-                return true;
+        for (int i = 0; i < corrections.size(); i++) {
+            if (!accepted[i]) {
+                continue;
             }
+            Correction correction = corrections.get(i);
+            result.append(originalText, cursor, correction.start()).append(correction.replacement());
+            cursor = correction.end();
+
+            log.debug("Replaced '{}' with '{}' at position {}",
+                    originalText.substring(correction.start(), correction.end()),
+                    correction.replacement(), correction.start());
         }
-        return false;
+
+        return result.append(originalText, cursor, originalText.length()).toString();
     }
 
-    private String applyCorrections(String originalText, List<String> chunks,
-                                    List<List<SpellResult>> allResults) {
-        StringBuilder result = new StringBuilder(originalText);
+    private void collectCorrections(String text, int chunkStart, int chunkEnd,
+                                    List<SpellResult> errors, List<Correction> corrections) {
+        if (errors == null) {
+            return;
+        }
 
-        int globalOffset = 0;
+        for (SpellResult error : errors) {
+            String wrongWord = error.getWord();
+            if (wrongWord == null || error.getPos() == null || error.getLen() == null
+                    || error.getSuggestions() == null || error.getSuggestions().isEmpty()) {
+                continue;
+            }
 
-        for (int chunkIndex = 0; chunkIndex < Math.min(chunks.size(), allResults.size()); chunkIndex++) {
-            String chunk = chunks.get(chunkIndex);
-            List<SpellResult> errors = allResults.get(chunkIndex);
-
-            if (errors != null && !errors.isEmpty()) {
-                errors.sort((e1, e2) -> Integer.compare(e2.getPos(), e1.getPos()));
-
-                for (SpellResult error : errors) {
-                    if (error.getSuggestions() != null && !error.getSuggestions().isEmpty()) {
-                        String wrongWord = error.getWord();
-                        String correctWord = error.getSuggestions().get(0);
-
-                        if (!correctWord.equalsIgnoreCase(wrongWord)) {
-                            int absolutePos = globalOffset + error.getPos();
-                            int length = error.getLen();
-
-                            if (absolutePos + length <= result.length() &&
-                                    result.substring(absolutePos, absolutePos + length).equals(wrongWord)) {
-
-                                result.replace(absolutePos, absolutePos + length, correctWord);
-
-                                int diff = correctWord.length() - length;
-                                if (diff != 0) {
-                                    for (SpellResult remainingError : errors) {
-                                        if (remainingError.getPos() > error.getPos()) {
-                                            remainingError.setPos(remainingError.getPos() + diff);
-                                        }
-                                    }
-                                }
-
-                                log.debug("Replaced '{}' with '{}' at position {}",
-                                        wrongWord, correctWord, absolutePos);
-                            }
-                        }
-                    }
-                }
+            int start = chunkStart + error.getPos();
+            int length = error.getLen();
+
+            String correctWord = error.getSuggestions().get(0);
+            if (correctWord.equalsIgnoreCase(wrongWord)) {
+                continue;
             }
 
-            globalOffset += chunk.length();
+            if (length == wrongWord.length() && start + length <= chunkEnd
+                    && text.regionMatches(start, wrongWord, 0, length)) {
+                corrections.add(new Correction(start, start + length, correctWord));
+            }
         }
+    }
+
+    private record Correction(int start, int end, String replacement) {
+    }
+
+    private static class ChunkRequest {
+        private final int options;
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<TextChunk> chunks = new ArrayList<>();
+        private long chars;
+        private CompletableFuture<List<List<SpellResult>>> response;
 
-        return result.toString();
+        private ChunkRequest(int options) {
+            this.options = options;
+        }
+
+        private void add(int index, TextChunk chunk) {
+            indexes.add(index);
+            chunks.add(chunk);
+            chars += chunk.length();
+        }
     }
-}
\ No newline at end of file
+}
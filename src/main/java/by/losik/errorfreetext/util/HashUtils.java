@@ -0,0 +1,59 @@
+package by.losik.errorfreetext.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@UtilityClass
+public class HashUtils {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public static String sha256Hex(String prefix, CharSequence text) {
+        MessageDigest digest = sha256();
+        digest.update(prefix.getBytes(StandardCharsets.UTF_8));
+        updateUtf8(digest, text);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void updateUtf8(MessageDigest digest, CharSequence text) {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer in = CharBuffer.wrap(text);
+        ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+
+        CoderResult result;
+        do {
+            result = encoder.encode(in, out, true);
+            drain(digest, out);
+        } while (result.isOverflow());
+
+        while (encoder.flush(out).isOverflow()) {
+            drain(digest, out);
+        }
+        drain(digest, out);
+    }
+
+    private static void drain(MessageDigest digest, ByteBuffer buffer) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package by.losik.errorfreetext.util;
+
+import java.util.Objects;
+
+public final class TextChunk implements CharSequence {
+
+    private final String source;
+    private final int start;
+    private final int end;
+
+    public TextChunk(String source, int start, int end) {
+        Objects.checkFromToIndex(start, end, source.length());
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static TextChunk of(String source) {
+        return new TextChunk(source, 0, source.length());
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length());
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public TextChunk subSequence(int from, int to) {
+        Objects.checkFromToIndex(from, to, length());
+        return new TextChunk(source, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        return source.substring(start, end);
+    }
+}
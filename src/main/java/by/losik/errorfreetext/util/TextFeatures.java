@@ -0,0 +1,77 @@
+package by.losik.errorfreetext.util;
+
+import org.apache.commons.validator.routines.UrlValidator;
+
+public record TextFeatures(boolean hasDigits, boolean hasUrls) {
+
+    private static final UrlValidator URL_VALIDATOR = new UrlValidator(
+            new String[]{"http", "https", "ftp", "file"},
+            UrlValidator.ALLOW_LOCAL_URLS
+    );
+
+    public static TextFeatures scan(CharSequence text) {
+        boolean hasDigits = false;
+        boolean hasUrls = false;
+
+        int length = text.length();
+        int tokenStart = -1;
+        boolean tokenHasScheme = false;
+
+        for (int i = 0; i <= length && !(hasDigits && hasUrls); i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+
+            if (isDelimiter(c)) {
+                if (tokenStart >= 0 && !hasUrls) {
+                    hasUrls = isUrl(text, tokenStart, i, tokenHasScheme);
+                }
+                tokenStart = -1;
+                tokenHasScheme = false;
+                continue;
+            }
+
+            if (tokenStart < 0) {
+                tokenStart = i;
+            }
+            if (!hasDigits && Character.isDigit(c)) {
+                hasDigits = true;
+            }
+            if (c == ':' && i + 2 < length && text.charAt(i + 1) == '/' && text.charAt(i + 2) == '/') {
+                tokenHasScheme = true;
+            }
+        }
+
+        return new TextFeatures(hasDigits, hasUrls);
+    }
+
+    private static boolean isUrl(CharSequence text, int start, int end, boolean hasScheme) {
+        while (end > start && isTrailingPunctuation(text.charAt(end - 1))) {
+            end--;
+        }
+
+        if (hasScheme) {
+            return URL_VALIDATOR.isValid(text.subSequence(start, end).toString());
+        }
+        if (end - start > 4 && startsWithWww(text, start)) {
+            return URL_VALIDATOR.isValid("http://" + text.subSequence(start, end));
+        }
+        return false;
+    }
+
+    private static boolean startsWithWww(CharSequence text, int start) {
+        return Character.toLowerCase(text.charAt(start)) == 'w'
+                && Character.toLowerCase(text.charAt(start + 1)) == 'w'
+                && Character.toLowerCase(text.charAt(start + 2)) == 'w'
+                && text.charAt(start + 3) == '.';
+    }
+
+    private static boolean isDelimiter(char c) {
+        return switch (c) {
+            case ',', ';', '"', '\'', '(', ')', '[', ']', '{', '}', '<', '>' -> true;
+            default -> Character.isWhitespace(c);
+        };
+    }
+
+    private static boolean isTrailingPunctuation(char c) {
+        return c == '.' || c == ':' || c == '!' || c == '?';
+    }
+}
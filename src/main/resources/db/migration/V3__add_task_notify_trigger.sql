@@ -0,0 +1,17 @@
+CREATE OR REPLACE FUNCTION notify_correction_tasks_new() RETURNS TRIGGER AS $$
+BEGIN
+    -- Задачи, сохраненные сразу в статусе COMPLETED (кэш, синхронный режим), диспетчеров не будят
+    IF EXISTS (SELECT 1 FROM inserted_tasks WHERE status = 'NEW') THEN
+        PERFORM pg_notify('correction_tasks_new', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_correction_tasks_notify_new
+    AFTER INSERT ON correction_tasks
+    REFERENCING NEW TABLE AS inserted_tasks
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_correction_tasks_new();
+
+COMMENT ON FUNCTION notify_correction_tasks_new() IS 'Оповещает слушателей канала correction_tasks_new о появлении новых задач в статусе NEW';
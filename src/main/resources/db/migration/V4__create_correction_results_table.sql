@@ -0,0 +1,14 @@
+CREATE TABLE correction_results (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    language VARCHAR(2) NOT NULL CHECK (language IN ('RU', 'EN')),
+    corrected_text TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_correction_results_created_at ON correction_results(created_at);
+
+COMMENT ON TABLE correction_results IS 'Кэш результатов коррекции, адресуемый хэшем текста';
+COMMENT ON COLUMN correction_results.cache_key IS 'SHA-256 от языка, опций и исходного текста (hex)';
+COMMENT ON COLUMN correction_results.language IS 'Язык текста: RU или EN';
+COMMENT ON COLUMN correction_results.corrected_text IS 'Скорректированный текст';
+COMMENT ON COLUMN correction_results.created_at IS 'Время сохранения результата';
@@ -0,0 +1,15 @@
+ALTER TABLE correction_tasks
+    ADD COLUMN lease_owner VARCHAR(100),
+    ADD COLUMN lease_expires_at TIMESTAMP,
+    ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+
+UPDATE correction_tasks
+SET lease_expires_at = CURRENT_TIMESTAMP
+WHERE status = 'PROCESSING';
+
+CREATE INDEX idx_correction_tasks_lease_expires_at ON correction_tasks(lease_expires_at)
+    WHERE status = 'PROCESSING';
+
+COMMENT ON COLUMN correction_tasks.lease_owner IS 'Идентификатор узла, который обрабатывает задачу';
+COMMENT ON COLUMN correction_tasks.lease_expires_at IS 'Время истечения аренды задачи, продлевается во время обработки';
+COMMENT ON COLUMN correction_tasks.attempts IS 'Количество попыток обработки задачи';
@@ -0,0 +1,25 @@
+-- Сохраняемая вычисляемая колонка заполняется для всех строк: PostgreSQL переписывает таблицу
+-- под блокировкой ACCESS EXCLUSIVE, и на время миграции чтение и запись correction_tasks останавливаются.
+-- На большой таблице миграцию нужно запускать в окно обслуживания.
+ALTER TABLE correction_tasks
+    ADD COLUMN bucket SMALLINT GENERATED ALWAYS AS (hashtext(id::text) & 63) STORED;
+
+-- Выборка идет по диапазону партиций в порядке created_at, поэтому created_at стоит первым:
+-- индекс отдает строки в нужном порядке, а условие по bucket проверяется прямо в индексе
+CREATE INDEX idx_correction_tasks_new_created_at_bucket ON correction_tasks(created_at, bucket)
+    WHERE status = 'NEW';
+
+CREATE TABLE scheduler_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_scheduler_nodes_heartbeat_at ON scheduler_nodes(heartbeat_at);
+
+COMMENT ON COLUMN correction_tasks.bucket IS 'Номер партиции задачи (0-63), вычисляется из хэша идентификатора';
+COMMENT ON INDEX idx_correction_tasks_new_created_at_bucket IS 'Очередь новых задач в порядке создания с фильтром по партиции';
+COMMENT ON TABLE scheduler_nodes IS 'Активные узлы планировщика для распределения партиций задач';
+COMMENT ON COLUMN scheduler_nodes.node_id IS 'Идентификатор узла';
+COMMENT ON COLUMN scheduler_nodes.started_at IS 'Время регистрации узла';
+COMMENT ON COLUMN scheduler_nodes.heartbeat_at IS 'Время последнего сигнала активности узла';
@@ -0,0 +1,6 @@
+-- Очередь NEW обслуживает частичный индекс idx_correction_tasks_new_created_at_bucket из V6:
+-- created_at в нем стоит первым, поэтому он подходит и для claimBatch, и для claimBatchInBuckets.
+-- Отдельный индекс только по created_at не создается, чтобы не добавлять запись в индекс при каждой смене статуса.
+DROP INDEX CONCURRENTLY IF EXISTS idx_correction_tasks_status_created_at;
+DROP INDEX CONCURRENTLY IF EXISTS idx_correction_tasks_status;
+DROP INDEX CONCURRENTLY IF EXISTS idx_correction_tasks_language;
@@ -0,0 +1,19 @@
+CREATE TABLE correction_task_payloads (
+    task_id UUID PRIMARY KEY
+        REFERENCES correction_tasks(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED,
+    original_text TEXT NOT NULL,
+    corrected_text TEXT
+);
+
+INSERT INTO correction_task_payloads (task_id, original_text, corrected_text)
+SELECT id, original_text, corrected_text
+FROM correction_tasks;
+
+ALTER TABLE correction_tasks
+    DROP COLUMN original_text,
+    DROP COLUMN corrected_text;
+
+COMMENT ON TABLE correction_task_payloads IS 'Тексты задач коррекции, вынесенные из таблицы состояний';
+COMMENT ON COLUMN correction_task_payloads.task_id IS 'Идентификатор задачи';
+COMMENT ON COLUMN correction_task_payloads.original_text IS 'Исходный текст для коррекции';
+COMMENT ON COLUMN correction_task_payloads.corrected_text IS 'Скорректированный текст';
@@ -0,0 +1,81 @@
+package by.losik.errorfreetext.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("Тесты BoundedTaskExecutor")
+class BoundedTaskExecutorTest {
+
+    private ExecutorService delegate;
+    private BoundedTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Executors.newCachedThreadPool();
+        executor = new BoundedTaskExecutor(delegate, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Должен отклонять задачи сверх лимита параллельности")
+    void shouldRejectTasksOverLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        assertThat(executor.getAvailablePermits()).isZero();
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(TaskRejectedException.class);
+
+        release.countDown();
+        await().atMost(1, TimeUnit.SECONDS).until(() -> executor.getAvailablePermits() == 2);
+    }
+
+    @Test
+    @DisplayName("Должен вернуть разрешение, если делегат отклонил задачу")
+    void shouldReleasePermitWhenDelegateRejects() {
+        delegate.shutdown();
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Должен уведомлять слушателя уже после возврата разрешения")
+    void shouldNotifyListenerAfterPermitReleased() {
+        AtomicInteger permitsSeen = new AtomicInteger(-1);
+        executor.addReleaseListener(() -> permitsSeen.set(executor.getAvailablePermits()));
+
+        executor.execute(() -> { });
+
+        await().atMost(1, TimeUnit.SECONDS).until(() -> permitsSeen.get() == 2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
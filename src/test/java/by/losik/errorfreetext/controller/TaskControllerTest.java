@@ -3,7 +3,9 @@ package by.losik.errorfreetext.controller;
 import by.losik.errorfreetext.dto.TaskDto;
 import by.losik.errorfreetext.entity.Language;
 import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.exception.TaskBatchTooLargeException;
 import by.losik.errorfreetext.exception.TaskNotFoundException;
+import by.losik.errorfreetext.service.SyncCorrectionService;
 import by.losik.errorfreetext.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,22 +16,35 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
+@TestPropertySource(properties = "app.tasks.batch.max-body-size=1KB")
 @DisplayName("Тесты TaskController")
 class TaskControllerTest {
 
@@ -42,6 +57,9 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private SyncCorrectionService syncCorrectionService;
+
     private final UUID testTaskId = UUID.fromString("27ee0fb7-e24b-4650-8cb6-ac81d20c5589");
     private TaskDto.CreateRequest validCreateRequest;
     private TaskDto.CreateResponse createResponse;
@@ -129,6 +147,172 @@ class TaskControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/tasks?mode=sync - Синхронная коррекция")
+    class CreateTaskSyncTests {
+
+        @Test
+        @DisplayName("Должен вернуть 201 с исправленным текстом")
+        void shouldReturnCorrectedTextInline() throws Exception {
+            when(syncCorrectionService.correct(any(TaskDto.CreateRequest.class))).thenReturn(Optional.of(getResponse));
+
+            mockMvc.perform(post("/api/tasks").param("mode", "sync")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.status").value("COMPLETED"))
+                    .andExpect(jsonPath("$.correctedText").value("Hello world"));
+
+            verify(taskService, never()).createTask(any());
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 202, если задача поставлена в очередь")
+        void shouldReturnAcceptedWhenDeferred() throws Exception {
+            when(syncCorrectionService.correct(any(TaskDto.CreateRequest.class))).thenReturn(Optional.empty());
+            when(taskService.createTask(any(TaskDto.CreateRequest.class))).thenReturn(createResponse);
+
+            mockMvc.perform(post("/api/tasks").param("mode", "sync")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.taskId").value(testTaskId.toString()))
+                    .andExpect(jsonPath("$.status").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/tasks/batch - Пакетное создание задач")
+    class CreateTasksTests {
+
+        private final TaskDto.BatchCreateResponse batchResponse = TaskDto.BatchCreateResponse.builder()
+                .taskIds(List.of(testTaskId))
+                .build();
+
+        @Test
+        @DisplayName("Должен создать задачи из JSON-массива")
+        void shouldCreateTasksFromJsonArray() throws Exception {
+            when(taskService.createTasks(any())).thenAnswer(invocation -> {
+                assertThat(invocation.<Stream<TaskDto.CreateRequest>>getArgument(0).count()).isEqualTo(2);
+                return batchResponse;
+            });
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(validCreateRequest, validCreateRequest))))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.taskIds[0]").value(testTaskId.toString()));
+        }
+
+        @Test
+        @DisplayName("Должен создать задачи из NDJSON-потока")
+        void shouldCreateTasksFromNdjson() throws Exception {
+            when(taskService.createTasks(any())).thenAnswer(invocation -> {
+                assertThat(invocation.<Stream<TaskDto.CreateRequest>>getArgument(0))
+                        .extracting(TaskDto.CreateRequest::getLanguage)
+                        .containsExactly(Language.EN, Language.RU);
+                return batchResponse;
+            });
+
+            String body = "{\"text\":\"Hello world\",\"language\":\"EN\"}\n\n"
+                    + "{\"text\":\"Привет мир\",\"language\":\"RU\"}\n";
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType("application/x-ndjson")
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.taskIds[0]").value(testTaskId.toString()));
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 400 с номером невалидной задачи")
+        void shouldReturn400WithIndexOfInvalidTask() throws Exception {
+            when(taskService.createTasks(any())).thenAnswer(invocation -> {
+                invocation.<Stream<TaskDto.CreateRequest>>getArgument(0).forEach(request -> { });
+                return batchResponse;
+            });
+            TaskDto.CreateRequest invalidRequest = new TaskDto.CreateRequest();
+            invalidRequest.setText("Hello world");
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(validCreateRequest, invalidRequest))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("40001"))
+                    .andExpect(jsonPath("$.errorMessage").value(containsString("task #1")));
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 400 при невалидной строке NDJSON")
+        void shouldReturn400ForMalformedNdjsonLine() throws Exception {
+            when(taskService.createTasks(any())).thenAnswer(invocation -> {
+                invocation.<Stream<TaskDto.CreateRequest>>getArgument(0).forEach(request -> { });
+                return batchResponse;
+            });
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType("application/x-ndjson")
+                            .content("{not json}\n"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("40002"));
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 400, если тело пакета не JSON-массив")
+        void shouldReturn400WhenBodyIsNotArray() throws Exception {
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("40002"));
+
+            verify(taskService, never()).createTasks(any());
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 400 при неразборчивом элементе массива")
+        void shouldReturn400ForMalformedArrayElement() throws Exception {
+            when(taskService.createTasks(any())).thenAnswer(invocation -> {
+                invocation.<Stream<TaskDto.CreateRequest>>getArgument(0).forEach(request -> { });
+                return batchResponse;
+            });
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[" + objectMapper.writeValueAsString(validCreateRequest)
+                                    + ", {not json}]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("40002"));
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 413, не читая тело сверх допустимого размера")
+        void shouldReturn413WhenBodyTooLarge() throws Exception {
+            TaskDto.CreateRequest longRequest = new TaskDto.CreateRequest("Hello world ".repeat(100), Language.EN);
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType("application/x-ndjson")
+                            .content(objectMapper.writeValueAsString(longRequest)))
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("$.errorCode").value("41301"));
+
+            verify(taskService, never()).createTasks(any());
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 413 при превышении размера пакета")
+        void shouldReturn413WhenBatchTooLarge() throws Exception {
+            when(taskService.createTasks(any()))
+                    .thenThrow(new TaskBatchTooLargeException("Batch exceeds the limit of 1 tasks"));
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(validCreateRequest, validCreateRequest))))
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("$.errorCode").value("41301"));
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/tasks/{taskId} - Получение задачи")
     class GetTaskTests {
@@ -173,6 +357,149 @@ class TaskControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/tasks/{taskId}/status - Получение статуса задачи")
+    class GetTaskStatusTests {
+
+        @Test
+        @DisplayName("Должен вернуть статус задачи без текстов")
+        void shouldReturnTaskStatus() throws Exception {
+            TaskDto.GetResponse statusResponse = TaskDto.GetResponse.builder()
+                    .taskId(testTaskId)
+                    .status(TaskStatus.PROCESSING)
+                    .language(Language.EN)
+                    .build();
+            when(taskService.getTaskStatus(testTaskId)).thenReturn(statusResponse);
+
+            mockMvc.perform(get("/api/tasks/{taskId}/status", testTaskId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.taskId").value(testTaskId.toString()))
+                    .andExpect(jsonPath("$.status").value("PROCESSING"))
+                    .andExpect(jsonPath("$.correctedText").doesNotExist());
+
+            verify(taskService, never()).getTask(any());
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 404 если задача не найдена")
+        void shouldReturn404WhenTaskNotFound() throws Exception {
+            UUID nonExistentId = UUID.randomUUID();
+            when(taskService.getTaskStatus(nonExistentId))
+                    .thenThrow(new TaskNotFoundException("Task with id: " + nonExistentId + " not found"));
+
+            mockMvc.perform(get("/api/tasks/{taskId}/status", nonExistentId))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.errorCode").value("40401"));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/tasks/status - Пакетное получение состояний")
+    class TaskStatusesTests {
+
+        @Test
+        @DisplayName("Должен вернуть состояния задач и список ненайденных")
+        void shouldReturnStatuses() throws Exception {
+            UUID missingId = UUID.randomUUID();
+            when(taskService.getTaskStatuses(List.of(testTaskId, missingId)))
+                    .thenReturn(TaskDto.StatusResponse.builder()
+                            .tasks(List.of(getResponse))
+                            .notFound(List.of(missingId))
+                            .build());
+
+            mockMvc.perform(post("/api/tasks/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(TaskDto.StatusRequest.builder()
+                                    .taskIds(List.of(testTaskId, missingId))
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.tasks[0].taskId").value(testTaskId.toString()))
+                    .andExpect(jsonPath("$.notFound[0]").value(missingId.toString()));
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 400 при пустом списке идентификаторов")
+        void shouldReturn400WhenIdsEmpty() throws Exception {
+            mockMvc.perform(post("/api/tasks/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"taskIds\":[]}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("40001"));
+
+            verify(taskService, never()).getTaskStatuses(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/{taskId}?waitMs - Ожидание завершения задачи")
+    class AwaitTaskTests {
+
+        @Test
+        @DisplayName("Должен вернуть задачу после ее завершения")
+        void shouldReturnTaskWhenCompleted() throws Exception {
+            CompletableFuture<TaskDto.GetResponse> completion = new CompletableFuture<>();
+            when(taskService.awaitTask(eq(testTaskId), anyLong())).thenReturn(completion);
+
+            MvcResult result = mockMvc.perform(get("/api/tasks/{taskId}", testTaskId).param("waitMs", "5000"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            completion.complete(getResponse);
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+            verify(taskService, never()).getTask(any());
+        }
+
+        @Test
+        @DisplayName("Должен ограничить время ожидания настройкой max-wait-ms")
+        void shouldCapWaitTime() throws Exception {
+            when(taskService.awaitTask(eq(testTaskId), anyLong()))
+                    .thenReturn(CompletableFuture.completedFuture(getResponse));
+
+            mockMvc.perform(get("/api/tasks/{taskId}", testTaskId).param("waitMs", "3600000"));
+
+            verify(taskService).awaitTask(testTaskId, 30000);
+        }
+
+        @Test
+        @DisplayName("Должен вернуть 404 если задача не найдена")
+        void shouldReturn404WhenTaskNotFound() throws Exception {
+            when(taskService.awaitTask(eq(testTaskId), anyLong()))
+                    .thenThrow(new TaskNotFoundException("Task with id: " + testTaskId + " not found"));
+
+            mockMvc.perform(get("/api/tasks/{taskId}", testTaskId).param("waitMs", "5000"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.errorCode").value("40401"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/{taskId}/events - Подписка на завершение задачи")
+    class StreamTaskTests {
+
+        @Test
+        @DisplayName("Должен отправить событие с итоговым состоянием задачи")
+        void shouldSendFinalStateEvent() throws Exception {
+            CompletableFuture<TaskDto.GetResponse> completion = new CompletableFuture<>();
+            when(taskService.awaitTask(eq(testTaskId), anyLong())).thenReturn(completion);
+
+            MvcResult result = mockMvc.perform(get("/api/tasks/{taskId}/events", testTaskId)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            completion.complete(getResponse);
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("event:COMPLETED")))
+                    .andExpect(content().string(containsString("\"taskId\":\"" + testTaskId + "\"")));
+        }
+    }
+
     @Nested
     @DisplayName("Интеграция с валидацией")
     class ValidationIntegrationTests {
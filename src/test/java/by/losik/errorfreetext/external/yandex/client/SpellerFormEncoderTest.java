@@ -0,0 +1,39 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты SpellerFormEncoder")
+class SpellerFormEncoderTest {
+
+    @Test
+    @DisplayName("Потоковая форма должна совпадать с целиком собранной строкой")
+    void shouldStreamSameFormAsEncodeForm() throws IOException {
+        String longText = "Привет мир 😀 ".repeat(600) + '\uD83D';
+        List<String> texts = List.of("ошибко", longText, "a b‌c");
+
+        String expected = SpellerFormEncoder.encodeForm(texts, "ru", 6);
+
+        try (InputStream form = SpellerFormEncoder.openForm(texts, "ru", 6)) {
+            assertThat(new String(form.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo(expected);
+        }
+        assertThat(SpellerFormEncoder.formLength(texts, "ru", 6)).isEqualTo(expected.length());
+    }
+
+    @Test
+    @DisplayName("Должен посчитать длину закодированного текста без его кодирования")
+    void shouldComputeEncodedLength() {
+        StringBuilder encoded = new StringBuilder();
+        String text = "é ж€😀x‌";
+        SpellerFormEncoder.encode(text, encoded);
+
+        assertThat(SpellerFormEncoder.encodedLength(text)).isEqualTo(encoded.length());
+    }
+}
@@ -0,0 +1,225 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import by.losik.errorfreetext.config.YandexSpellerConfig;
+import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
+import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты YandexSpellerAsyncClient")
+class YandexSpellerAsyncClientTest {
+
+    private MockWebServer mockWebServer;
+    private YandexSpellerConfig config;
+    private YandexSpellerAsyncClient asyncClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        config = new YandexSpellerConfig();
+        config.setBaseUrl(mockWebServer.url("/").toString());
+        config.setRequestTimeout(1000);
+
+        asyncClient = new YandexSpellerAsyncClient(config, objectMapper,
+                CircuitBreakerRegistry.ofDefaults(),
+                RetryRegistry.of(RetryConfig.custom()
+                        .maxAttempts(2)
+                        .waitDuration(Duration.ofMillis(10))
+                        .retryExceptions(ResourceAccessException.class)
+                        .build()),
+                RateLimiterRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        asyncClient.shutdown();
+        mockWebServer.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Тесты успешных сценариев")
+    class SuccessTests {
+
+        @Test
+        @DisplayName("Должен вернуть результаты проверки через CompletableFuture")
+        void shouldReturnResults() throws Exception {
+            enqueueJson(List.of(List.of(SpellResult.builder().word("ошибко").pos(0).len(6).build())));
+
+            List<List<SpellResult>> result = asyncClient.checkTextsAsync(List.of("ошибко"), "ru", 0)
+                    .get(2, TimeUnit.SECONDS);
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).get(0).getWord()).isEqualTo("ошибко");
+            assertThat(request.getMethod()).isEqualTo("POST");
+            assertThat(request.getBody().readUtf8()).startsWith("lang=ru&options=0&text=%D0%BE");
+        }
+
+        @Test
+        @DisplayName("Должен выполнять много одновременных запросов на небольшом пуле потоков")
+        void shouldRunManyConcurrentRequests() throws Exception {
+            int requests = 50;
+            for (int i = 0; i < requests; i++) {
+                enqueueJson(List.of(List.of()));
+            }
+
+            List<CompletableFuture<List<List<SpellResult>>>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(asyncClient.checkTextsAsync(List.of("text " + i), "en", 0));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(requests);
+        }
+
+        @Test
+        @DisplayName("Должен держать не больше async-max-in-flight запросов одновременно")
+        void shouldQueueCallsOverInFlightLimit() throws Exception {
+            config.getHttp().setAsyncMaxInFlight(1);
+            YandexSpellerAsyncClient limitedClient = new YandexSpellerAsyncClient(config, objectMapper,
+                    CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(), RateLimiterRegistry.ofDefaults());
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(HttpStatus.OK.value())
+                    .setBody("[[]]")
+                    .addHeader("Content-Type", "application/json")
+                    .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+            enqueueJson(List.of(List.of()));
+
+            try {
+                CompletableFuture<List<List<SpellResult>>> first = limitedClient.checkTextsAsync(List.of("first"), "en", 0);
+                CompletableFuture<List<List<SpellResult>>> second = limitedClient.checkTextsAsync(List.of("second"), "en", 0);
+
+                assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+                assertThat(mockWebServer.takeRequest(150, TimeUnit.MILLISECONDS)).isNull();
+                assertThat(second).isNotDone();
+
+                first.get(2, TimeUnit.SECONDS);
+                second.get(2, TimeUnit.SECONDS);
+                assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+            } finally {
+                limitedClient.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Должен передавать тексты в URL при GET-транспорте")
+        void shouldUseQueryStringForGet() throws Exception {
+            config.setTransport(YandexSpellerConfig.Transport.GET);
+            enqueueJson(List.of(List.of()));
+
+            asyncClient.checkTextsAsync(List.of("Test text"), "en", 2).get(2, TimeUnit.SECONDS);
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertThat(request.getMethod()).isEqualTo("GET");
+            assertThat(request.getPath()).isEqualTo("/checkTexts?lang=en&options=2&text=Test%20text");
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты обработки ошибок")
+    class ErrorHandlingTests {
+
+        @Test
+        @DisplayName("Должен завершиться YandexSpellerException при ошибке сервера")
+        void shouldFailOnServerError() {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.INTERNAL_SERVER_ERROR.value()));
+
+            CompletableFuture<List<List<SpellResult>>> future = asyncClient.checkTextsAsync(List.of("text"), "ru", 0);
+
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(YandexSpellerException.class)
+                    .hasMessageContaining("Yandex Speller API error: 500");
+        }
+
+        @Test
+        @DisplayName("Должен завершиться YandexSpellerException при нестандартном коде ответа")
+        void shouldFailOnNonStandardStatus() {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(599));
+
+            CompletableFuture<List<List<SpellResult>>> future = asyncClient.checkTextsAsync(List.of("text"), "ru", 0);
+
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(YandexSpellerException.class)
+                    .hasMessage("Yandex Speller API error: 599");
+        }
+
+        @Test
+        @DisplayName("Должен расходовать разрешение rate limiter на каждую попытку")
+        void shouldTakePermitPerAttempt() throws Exception {
+            RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                    .limitForPeriod(10)
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ZERO)
+                    .build());
+            asyncClient.shutdown();
+            asyncClient = new YandexSpellerAsyncClient(config, objectMapper,
+                    CircuitBreakerRegistry.ofDefaults(),
+                    RetryRegistry.of(RetryConfig.custom()
+                            .maxAttempts(2)
+                            .waitDuration(Duration.ofMillis(10))
+                            .retryExceptions(ResourceAccessException.class)
+                            .build()),
+                    rateLimiterRegistry);
+            mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+            enqueueJson(List.of(List.of()));
+
+            asyncClient.checkTextsAsync(List.of("text"), "ru", 0).get(2, TimeUnit.SECONDS);
+
+            assertThat(rateLimiterRegistry.rateLimiter("yandexSpeller").getMetrics().getAvailablePermissions())
+                    .isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Должен повторить запрос после обрыва соединения")
+        void shouldRetryAfterConnectionFailure() throws Exception {
+            mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+            enqueueJson(List.of(List.of()));
+
+            List<List<SpellResult>> result = asyncClient.checkTextsAsync(List.of("text"), "ru", 0)
+                    .get(2, TimeUnit.SECONDS);
+
+            assertThat(result).hasSize(1);
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    private void enqueueJson(Object body) throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpStatus.OK.value())
+                .setBody(objectMapper.writeValueAsString(body))
+                .addHeader("Content-Type", "application/json"));
+    }
+}
@@ -0,0 +1,166 @@
+package by.losik.errorfreetext.external.yandex.client;
+
+import by.losik.errorfreetext.config.YandexSpellerConfig;
+import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
+import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты YandexSpellerBatcher")
+class YandexSpellerBatcherTest {
+
+    @Mock
+    private YandexSpellerClient spellerClient;
+
+    @Mock
+    private YandexSpellerAsyncClient asyncClient;
+
+    @Mock
+    private ObjectProvider<YandexSpellerAsyncClient> asyncClientProvider;
+
+    private ExecutorService executor;
+    private YandexSpellerConfig config;
+    private YandexSpellerBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        config = new YandexSpellerConfig();
+        config.getBatch().setLingerMs(50);
+        config.getBatch().setMaxTexts(3);
+        config.getHttp().setAsync(false);
+        when(asyncClientProvider.getIfAvailable()).thenReturn(asyncClient);
+        batcher = new YandexSpellerBatcher(spellerClient, asyncClientProvider, config, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Должен объединить запросы с одинаковыми параметрами в один вызов")
+    void shouldCoalesceRequestsWithSameKey() throws Exception {
+        when(spellerClient.checkTextsWithRetry(anyList(), eq("ru"), eq(0)))
+                .thenAnswer(invocation -> echo(invocation.getArgument(0)));
+
+        CompletableFuture<List<List<SpellResult>>> first = batcher.submit(List.of("a"), "ru", 0);
+        CompletableFuture<List<List<SpellResult>>> second = batcher.submit(List.of("b", "c"), "ru", 0);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).extracting(r -> r.get(0).getWord()).containsExactly("a");
+        assertThat(second.get(1, TimeUnit.SECONDS)).extracting(r -> r.get(0).getWord()).containsExactly("b", "c");
+        verify(spellerClient, times(1)).checkTextsWithRetry(List.of("a", "b", "c"), "ru", 0);
+    }
+
+    @Test
+    @DisplayName("Не должен объединять запросы с разными опциями")
+    void shouldNotCoalesceDifferentOptions() throws Exception {
+        when(spellerClient.checkTextsWithRetry(anyList(), anyString(), anyInt()))
+                .thenAnswer(invocation -> echo(invocation.getArgument(0)));
+
+        CompletableFuture<List<List<SpellResult>>> first = batcher.submit(List.of("a"), "ru", 0);
+        CompletableFuture<List<List<SpellResult>>> second = batcher.submit(List.of("b"), "ru", 2);
+
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS);
+        verify(spellerClient).checkTextsWithRetry(List.of("a"), "ru", 0);
+        verify(spellerClient).checkTextsWithRetry(List.of("b"), "ru", 2);
+    }
+
+    @Test
+    @DisplayName("Должен отправить пакет без ожидания при достижении лимита")
+    void shouldFlushWhenBatchIsFull() throws Exception {
+        config.getBatch().setLingerMs(60_000);
+        when(spellerClient.checkTextsWithRetry(anyList(), anyString(), anyInt()))
+                .thenAnswer(invocation -> echo(invocation.getArgument(0)));
+
+        CompletableFuture<List<List<SpellResult>>> result =
+                batcher.submit(List.of("a", "b", "c"), "en", 0);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Должен передать ошибку API всем участникам пакета")
+    void shouldPropagateErrorToAllEntries() {
+        when(spellerClient.checkTextsWithRetry(anyList(), anyString(), anyInt()))
+                .thenThrow(new YandexSpellerException("API error"));
+
+        batcher.submit(List.of("a"), "ru", 0);
+
+        assertThatThrownBy(() -> batcher.checkTexts(List.of("b"), "ru", 0))
+                .isInstanceOf(YandexSpellerException.class)
+                .hasMessage("API error");
+    }
+
+    @Test
+    @DisplayName("Должен вызывать клиент напрямую, если пакетирование отключено")
+    void shouldCallClientDirectlyWhenDisabled() {
+        config.getBatch().setEnabled(false);
+        when(spellerClient.checkTextsWithRetry(List.of("a"), "ru", 0)).thenReturn(List.of(List.of()));
+
+        assertThat(batcher.checkTexts(List.of("a"), "ru", 0)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Должен отправлять пакет через асинхронный клиент без блокировки потока")
+    void shouldSendBatchThroughAsyncClient() throws Exception {
+        config.getHttp().setAsync(true);
+        when(asyncClient.checkTextsAsync(anyList(), eq("ru"), eq(0)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(echo(invocation.getArgument(0))));
+
+        CompletableFuture<List<List<SpellResult>>> first = batcher.submit(List.of("a"), "ru", 0);
+        CompletableFuture<List<List<SpellResult>>> second = batcher.submit(List.of("b"), "ru", 0);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).extracting(r -> r.get(0).getWord()).containsExactly("a");
+        assertThat(second.get(1, TimeUnit.SECONDS)).extracting(r -> r.get(0).getWord()).containsExactly("b");
+        verify(asyncClient).checkTextsAsync(List.of("a", "b"), "ru", 0);
+        verifyNoInteractions(spellerClient);
+    }
+
+    @Test
+    @DisplayName("Должен передать ошибку асинхронного клиента участникам пакета")
+    void shouldPropagateAsyncClientError() {
+        config.getHttp().setAsync(true);
+        when(asyncClient.checkTextsAsync(anyList(), anyString(), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new YandexSpellerException("API error")));
+
+        assertThatThrownBy(() -> batcher.checkTexts(List.of("a"), "ru", 0))
+                .isInstanceOf(YandexSpellerException.class)
+                .hasMessage("API error");
+    }
+
+    private static List<List<SpellResult>> echo(List<String> texts) {
+        List<List<SpellResult>> results = new ArrayList<>();
+        for (String text : texts) {
+            results.add(List.of(SpellResult.builder().word(text).build()));
+        }
+        return results;
+    }
+}
@@ -3,6 +3,7 @@ package by.losik.errorfreetext.external.yandex.client;
 import by.losik.errorfreetext.config.YandexSpellerConfig;
 import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
 import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import by.losik.errorfreetext.util.TextChunk;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import okhttp3.mockwebserver.MockResponse;
@@ -19,12 +20,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -338,6 +348,26 @@ class YandexSpellerClientTest {
     @DisplayName("Тесты URL построения")
     class UrlBuildingTests {
 
+        @Test
+        @DisplayName("Должен кодировать только область текста, на которую указывает чанк")
+        void shouldEncodeOnlyChunkView() throws Exception {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(HttpStatus.OK.value())
+                    .setBody(objectMapper.writeValueAsString(List.of(List.of())))
+                    .addHeader("Content-Type", "application/json"));
+
+            String source = "пропуск|Текст с 😀 и @!|пропуск";
+            TextChunk chunk = new TextChunk(source, 8, source.indexOf('|', 8));
+
+            spellerClient.checkTextsWithRetry(List.of(chunk), "ru", 0);
+
+            String path = mockWebServer.takeRequest().getPath();
+            String expected = URLEncoder.encode("Текст с 😀 и @!", StandardCharsets.UTF_8)
+                    .replace("+", "%20")
+                    .replace("%40", "@");
+            assertThat(path).endsWith("&text=" + expected);
+        }
+
         @Test
         @DisplayName("Должен корректно строить URL с одним текстом")
         void shouldBuildUrlWithSingleText() throws Exception {
@@ -426,4 +456,127 @@ class YandexSpellerClientTest {
             assertThat(request.getPath()).doesNotContain("&text=");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Тесты передачи текста в теле POST-запроса")
+    class PostTransportTests {
+
+        @BeforeEach
+        void usePostTransport() {
+            when(config.getTransport()).thenReturn(YandexSpellerConfig.Transport.POST);
+        }
+
+        @Test
+        @DisplayName("Должен отправлять тексты формой без параметров в URL")
+        void shouldSendTextsAsFormBody() throws Exception {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(HttpStatus.OK.value())
+                    .setBody(objectMapper.writeValueAsString(List.of(List.of(), List.of())))
+                    .addHeader("Content-Type", "application/json"));
+
+            List<List<SpellResult>> result = spellerClient.checkTextsWithRetry(
+                    List.of("Первый текст", "a&b=c"), "ru", 6);
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertThat(result).hasSize(2);
+            assertThat(request.getMethod()).isEqualTo("POST");
+            assertThat(request.getPath()).endsWith("/checkTexts");
+            assertThat(request.getHeader("Content-Type")).startsWith("application/x-www-form-urlencoded");
+            assertThat(request.getBody().readUtf8()).isEqualTo("lang=ru&options=6&text="
+                    + URLEncoder.encode("Первый текст", StandardCharsets.UTF_8).replace("+", "%20")
+                    + "&text=a%26b%3Dc");
+        }
+
+        @Test
+        @DisplayName("Должен передавать текст, который не поместился бы в URL")
+        void shouldSendTextLongerThanUrlLimit() throws Exception {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(HttpStatus.OK.value())
+                    .setBody(objectMapper.writeValueAsString(List.of(List.of())))
+                    .addHeader("Content-Type", "application/json"));
+
+            String text = "слово ".repeat(5000);
+
+            spellerClient.checkTextsWithRetry(List.of(text), "ru", 0);
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertThat(request.getPath()).doesNotContain("text=");
+            assertThat(request.getBodySize()).isGreaterThan(100_000);
+        }
+
+        @Test
+        @DisplayName("Должен выбрасывать исключение при ошибке сервера")
+        void shouldThrowOnServerError() {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.INTERNAL_SERVER_ERROR.value()));
+
+            assertThatThrownBy(() -> spellerClient.checkTextsWithRetry(List.of("text"), "ru", 0))
+                    .isInstanceOf(YandexSpellerException.class)
+                    .hasMessageContaining("Yandex Speller API error");
+        }
+
+        @Test
+        @DisplayName("Должен писать форму в потоковый запрос, не собирая ее в памяти")
+        void shouldStreamFormWithoutBuffering() throws Exception {
+            JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory();
+            ClientHttpRequestFactory streamingOnly = (uri, method) ->
+                    new StreamingOnlyRequest(jdkFactory.createRequest(uri, method));
+            RestTemplate restTemplate = new RestTemplate(streamingOnly);
+            restTemplate.getMessageConverters().add(0, new MappingJackson2HttpMessageConverter(objectMapper));
+            YandexSpellerClient streamingClient = new YandexSpellerClient(restTemplate, config);
+
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(HttpStatus.OK.value())
+                    .setBody(objectMapper.writeValueAsString(List.of(List.of())))
+                    .addHeader("Content-Type", "application/json"));
+
+            String text = "слово ".repeat(5000);
+            streamingClient.checkTextsWithRetry(List.of(text), "ru", 0);
+
+            RecordedRequest request = mockWebServer.takeRequest();
+            String expected = "lang=ru&options=0&text="
+                    + URLEncoder.encode(text, StandardCharsets.UTF_8).replace("+", "%20");
+            assertThat(request.getBody().readUtf8()).isEqualTo(expected);
+            assertThat(request.getHeader("Content-Length")).isEqualTo(Integer.toString(expected.length()));
+        }
+    }
+
+    // Fails the test if the client falls back to getBody(), which buffers the whole form for streaming requests
+    private static final class StreamingOnlyRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest delegate;
+
+        StreamingOnlyRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            ((StreamingHttpOutputMessage) delegate).setBody(body);
+        }
+
+        @Override
+        public OutputStream getBody() {
+            throw new AssertionError("The form must be streamed through setBody");
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            return delegate.execute();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+    }
+}
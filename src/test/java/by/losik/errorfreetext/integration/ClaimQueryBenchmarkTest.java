@@ -0,0 +1,228 @@
+package by.losik.errorfreetext.integration;
+
+import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Бенчмарк выборки задач из очереди NEW")
+class ClaimQueryBenchmarkTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+    private static final Pattern QUEUE_INDEX = Pattern.compile("\\bidx_correction_tasks_new_created_at_bucket\\b");
+
+    private static final int CLAIM_LIMIT = 5;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 500;
+    private static final long ROWS = Long.parseLong(System.getProperty("benchmark.rows", "10000000"));
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchmarkdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        long started = System.nanoTime();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("""
+                    INSERT INTO correction_tasks (id, status, language, created_at, version)
+                    SELECT gen_random_uuid(),
+                           CASE WHEN g % 100 = 0 THEN 'NEW' ELSE 'COMPLETED' END,
+                           'RU',
+                           TIMESTAMP '2024-01-01' + g * INTERVAL '1 millisecond',
+                           0
+                    FROM generate_series(1, %d) AS g
+                    """.formatted(ROWS));
+            statement.execute("""
+                    INSERT INTO correction_task_payloads (task_id, original_text, corrected_text)
+                    SELECT id,
+                           'Текст задачи',
+                           CASE WHEN status = 'COMPLETED' THEN 'Текст задачи' END
+                    FROM correction_tasks
+                    """);
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            statement.execute("VACUUM ANALYZE correction_tasks");
+            statement.execute("VACUUM ANALYZE correction_task_payloads");
+        }
+
+        System.out.printf("Seeded %,d tasks (1%% NEW) in %d s%n",
+                ROWS, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Выборка пачки задач должна идти по индексу очереди NEW")
+    void measureClaimBatch() throws Exception {
+        ClaimQuery query = ClaimQuery.of(
+                CorrectionTaskRepository.class.getMethod("claimBatch", int.class, String.class, double.class),
+                Map.of("limit", CLAIM_LIMIT, "owner", "benchmark", "leaseSeconds", 60.0));
+
+        measure("claimBatch", query);
+    }
+
+    @Test
+    @DisplayName("Выборка пачки задач из диапазона партиций должна идти по индексу очереди NEW")
+    void measureClaimBatchInBuckets() throws Exception {
+        ClaimQuery query = ClaimQuery.of(
+                CorrectionTaskRepository.class.getMethod("claimBatchInBuckets",
+                        int.class, int.class, int.class, String.class, double.class),
+                Map.of("limit", CLAIM_LIMIT, "firstBucket", 16, "lastBucket", 31,
+                        "owner", "benchmark", "leaseSeconds", 60.0));
+
+        measure("claimBatchInBuckets", query);
+    }
+
+    private static void measure(String name, ClaimQuery query) throws SQLException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+
+            String plan = explain(connection, query);
+            System.out.println(plan);
+            assertThat(plan).containsPattern(QUEUE_INDEX);
+            assertThat(plan).doesNotContain("Seq Scan on correction_tasks");
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                claimAndRollback(connection, query);
+            }
+
+            long[] latencies = new long[MEASURED_ITERATIONS];
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                latencies[i] = claimAndRollback(connection, query);
+            }
+            Arrays.sort(latencies);
+
+            String summary = String.format(Locale.ROOT,
+                    "%s latency over %d runs on %,d rows: p50=%.3f ms, p95=%.3f ms, p99=%.3f ms, max=%.3f ms",
+                    name,
+                    MEASURED_ITERATIONS,
+                    ROWS,
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.95),
+                    percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1_000_000.0);
+            System.out.println(summary);
+            report(summary);
+        }
+    }
+
+    private static long claimAndRollback(Connection connection, ClaimQuery query) throws SQLException {
+        long started = System.nanoTime();
+        try (PreparedStatement statement = query.prepare(connection, "");
+             ResultSet resultSet = statement.executeQuery()) {
+            int claimed = 0;
+            while (resultSet.next()) {
+                claimed++;
+            }
+            assertThat(claimed).isEqualTo(CLAIM_LIMIT);
+        }
+        long elapsed = System.nanoTime() - started;
+        connection.rollback();
+        return elapsed;
+    }
+
+    private static String explain(Connection connection, ClaimQuery query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = query.prepare(connection, "EXPLAIN (ANALYZE, BUFFERS) ");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        connection.rollback();
+        return plan.toString();
+    }
+
+    // The build passes a report file, so the figures survive after the console output is gone
+    private static void report(String summary) {
+        String report = System.getProperty("benchmark.report");
+        if (report == null) {
+            return;
+        }
+
+        try {
+            Path path = Path.of(report);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, summary + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    // Runs the native SQL declared on the repository method, so the benchmark cannot drift from production
+    private record ClaimQuery(String sql, List<Object> parameters) {
+
+        static ClaimQuery of(Method repositoryMethod, Map<String, Object> arguments) {
+            String declared = repositoryMethod.getAnnotation(Query.class).value();
+            List<Object> parameters = new ArrayList<>();
+
+            Matcher matcher = NAMED_PARAMETER.matcher(declared);
+            StringBuilder sql = new StringBuilder();
+            while (matcher.find()) {
+                parameters.add(arguments.get(matcher.group(1)));
+                matcher.appendReplacement(sql, "?");
+            }
+            matcher.appendTail(sql);
+
+            return new ClaimQuery(sql.toString(), parameters);
+        }
+
+        PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }
+    }
+}
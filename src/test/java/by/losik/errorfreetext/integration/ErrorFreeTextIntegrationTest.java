@@ -1,29 +1,48 @@
 package by.losik.errorfreetext.integration;
 
 import by.losik.errorfreetext.dto.TaskDto;
+import by.losik.errorfreetext.entity.CorrectionTask;
 import by.losik.errorfreetext.entity.Language;
 import by.losik.errorfreetext.entity.TaskStatus;
 import by.losik.errorfreetext.external.yandex.client.YandexSpellerClient;
 import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
 import by.losik.errorfreetext.external.yandex.model.SpellResult;
+import by.losik.errorfreetext.repository.CorrectionResultRepository;
+import by.losik.errorfreetext.repository.CorrectionTaskBatchRepository;
+import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import by.losik.errorfreetext.repository.projection.ExpiredLeaseCounts;
+import by.losik.errorfreetext.repository.projection.TaskView;
+import by.losik.errorfreetext.scheduler.TaskNotificationListener;
 import by.losik.errorfreetext.service.CacheService;
 import by.losik.errorfreetext.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -59,6 +78,7 @@ class ErrorFreeTextIntegrationTest {
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("app.scheduler.fixed-delay", () -> "100");
         registry.add("spring.cache.type", () -> "none");
+        registry.add("app.yandex-speller.http.async", () -> "false");
     }
 
     @MockBean
@@ -127,4 +147,265 @@ class ErrorFreeTextIntegrationTest {
                     assertThat(response.getBody().getErrorMessage()).contains("503");
                 });
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Тесты SQL очереди задач на реальной базе")
+    @TestPropertySource(properties = {
+            "app.scheduler.notify.enabled=false",
+            "app.scheduler.poll-interval=3600000",
+            "app.scheduler.lease.reaper-interval=3600000"
+    })
+    class TaskQueueSqlTests {
+
+        private static final String OWNER = "node-a";
+
+        @Autowired
+        private CorrectionTaskRepository taskRepository;
+
+        @Autowired
+        private CorrectionResultRepository resultRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @BeforeEach
+        void cleanUp() {
+            jdbcTemplate.update("DELETE FROM correction_tasks");
+            jdbcTemplate.update("DELETE FROM correction_results");
+        }
+
+        @Test
+        @DisplayName("V3: вставка задач должна оповещать канал correction_tasks_new")
+        void shouldNotifyOnInsert() throws Exception {
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TaskNotificationListener.CHANNEL);
+                }
+
+                taskRepository.insertAll(List.of(newTask(TaskStatus.NEW, LocalDateTime.now())));
+
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(5000);
+                assertThat(notifications).isNotEmpty();
+                assertThat(notifications[0].getName()).isEqualTo(TaskNotificationListener.CHANNEL);
+            }
+        }
+
+        @Test
+        @DisplayName("V3: вставка только завершенных задач не должна оповещать канал correction_tasks_new")
+        void shouldNotNotifyOnCompletedInsert() throws Exception {
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TaskNotificationListener.CHANNEL);
+                }
+
+                taskRepository.insertAll(List.of(newTask(TaskStatus.COMPLETED, LocalDateTime.now())));
+
+                assertThat(connection.unwrap(PGConnection.class).getNotifications(1000)).isNullOrEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("Оповещение о завершении задачи должно приходить только после фиксации транзакции")
+        void shouldNotifyTaskFinishedOnCommit() throws Exception {
+            UUID taskId = UUID.randomUUID();
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskRepository.notifyTaskFinished(taskId);
+                    try {
+                        assertThat(pgConnection.getNotifications(500)).isNullOrEmpty();
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+                PGNotification[] notifications = pgConnection.getNotifications(5000);
+                assertThat(notifications).isNotEmpty();
+                assertThat(notifications[0].getParameter()).isEqualTo(taskId.toString());
+            }
+        }
+
+        @Test
+        @DisplayName("V4: кэш результатов должен вставлять без дублей и удалять устаревшие строки")
+        void shouldStoreAndPurgeResults() {
+            assertThat(resultRepository.insertIfAbsent("key", "RU", "Текст")).isEqualTo(1);
+            assertThat(resultRepository.insertIfAbsent("key", "RU", "Другой текст")).isZero();
+            assertThat(resultRepository.findCorrectedTextByCacheKey("key")).contains("Текст");
+
+            assertThat(resultRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(1), 10)).isZero();
+            assertThat(resultRepository.deleteCreatedBefore(LocalDateTime.now().plusMinutes(1), 10)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("V5: claimBatch должен выдавать самые старые задачи и брать их в аренду")
+        void shouldClaimOldestTasksWithLease() {
+            LocalDateTime now = LocalDateTime.now();
+            CorrectionTask oldest = newTask(TaskStatus.NEW, now.minusMinutes(3));
+            CorrectionTask older = newTask(TaskStatus.NEW, now.minusMinutes(2));
+            CorrectionTask newest = newTask(TaskStatus.NEW, now.minusMinutes(1));
+            taskRepository.insertAll(List.of(newest, oldest, older));
+
+            List<CorrectionTask> claimed = taskRepository.claimBatch(2, OWNER, 60);
+
+            assertThat(claimed).extracting(CorrectionTask::getId).containsExactlyInAnyOrder(oldest.getId(), older.getId());
+            assertThat(claimed).allSatisfy(task -> {
+                assertThat(task.getStatus()).isEqualTo(TaskStatus.PROCESSING);
+                assertThat(task.getLeaseOwner()).isEqualTo(OWNER);
+                assertThat(task.getLeaseExpiresAt()).isAfter(now);
+                assertThat(task.getAttempts()).isEqualTo(1);
+            });
+            assertThat(taskRepository.claimBatch(5, OWNER, 60)).extracting(CorrectionTask::getId)
+                    .containsExactly(newest.getId());
+        }
+
+        @Test
+        @DisplayName("V5: просроченные аренды должны возвращаться в очередь, а исчерпанные - падать")
+        void shouldReclaimAndFailExpiredLeases() {
+            CorrectionTask retried = newTask(TaskStatus.NEW, LocalDateTime.now().minusMinutes(2));
+            CorrectionTask exhausted = newTask(TaskStatus.NEW, LocalDateTime.now().minusMinutes(1));
+            taskRepository.insertAll(List.of(retried, exhausted));
+            taskRepository.claimBatch(2, OWNER, 60);
+            jdbcTemplate.update("UPDATE correction_tasks SET lease_expires_at = NOW() - INTERVAL '1 minute'");
+            jdbcTemplate.update("UPDATE correction_tasks SET attempts = 3 WHERE id = ?", exhausted.getId());
+
+            assertThat(taskRepository.renewLeases(List.of(retried.getId()), "node-b", 60)).isZero();
+            ExpiredLeaseCounts expired = taskRepository.reclaimExpiredLeases(3, "Лимит попыток исчерпан");
+            assertThat(expired.getReclaimed()).isEqualTo(1);
+            assertThat(expired.getFailed()).isEqualTo(1);
+
+            assertThat(statusOf(retried.getId())).isEqualTo("NEW");
+            assertThat(statusOf(exhausted.getId())).isEqualTo("FAILED");
+        }
+
+        @Test
+        @DisplayName("V5: вернуть в очередь можно только задачу, аренду которой держит узел")
+        void shouldReleaseClaimOnlyForLeaseOwner() {
+            CorrectionTask task = newTask(TaskStatus.NEW, LocalDateTime.now());
+            taskRepository.insertAll(List.of(task));
+            taskRepository.claimBatch(1, OWNER, 60);
+
+            assertThat(taskRepository.releaseClaim(task.getId(), "node-b")).isZero();
+            assertThat(statusOf(task.getId())).isEqualTo("PROCESSING");
+
+            assertThat(taskRepository.releaseClaim(task.getId(), OWNER)).isEqualTo(1);
+            assertThat(statusOf(task.getId())).isEqualTo("NEW");
+        }
+
+        @Test
+        @DisplayName("V6: claimBatchInBuckets должен выдавать задачи только из своего диапазона партиций")
+        void shouldClaimOnlyTasksInBucketRange() {
+            List<CorrectionTask> tasks = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                tasks.add(newTask(TaskStatus.NEW, LocalDateTime.now().minusSeconds(i)));
+            }
+            taskRepository.insertAll(tasks);
+            Integer inRange = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM correction_tasks WHERE bucket BETWEEN 0 AND 31", Integer.class);
+
+            List<CorrectionTask> claimed = taskRepository.claimBatchInBuckets(100, 0, 31, OWNER, 60);
+
+            assertThat(claimed).hasSize(inRange);
+            assertThat(claimed).allSatisfy(task -> assertThat(task.getBucket()).isBetween(0, 31));
+        }
+
+        @Test
+        @DisplayName("V6, V7: индексы очереди NEW должны существовать и быть валидными")
+        void shouldCreateValidQueueIndexes() {
+            List<String> indexes = jdbcTemplate.queryForList("""
+                    SELECT c.relname FROM pg_index i
+                    JOIN pg_class c ON c.oid = i.indexrelid
+                    WHERE i.indrelid = 'correction_tasks'::regclass AND i.indisvalid
+                    """, String.class);
+
+            assertThat(indexes).contains(
+                    "idx_correction_tasks_new_created_at_bucket",
+                    "idx_correction_tasks_lease_expires_at");
+            assertThat(indexes).doesNotContain(
+                    "idx_correction_tasks_new_created_at",
+                    "idx_correction_tasks_status",
+                    "idx_correction_tasks_status_created_at",
+                    "idx_correction_tasks_language");
+        }
+
+        @Test
+        @DisplayName("V8: insertAll и findViewsByIds должны хранить тексты в отдельной таблице")
+        void shouldInsertAndReadTasksWithPayloads() {
+            CorrectionTask pending = newTask(TaskStatus.NEW, LocalDateTime.now());
+            CorrectionTask completed = newTask(TaskStatus.COMPLETED, LocalDateTime.now());
+            completed.setCorrectedText("Исправленный текст");
+            completed.setProcessedAt(LocalDateTime.now());
+            taskRepository.insertAll(List.of(pending, completed));
+
+            List<TaskView> views = taskRepository.findViewsByIds(List.of(pending.getId(), completed.getId(), UUID.randomUUID()));
+
+            assertThat(views).hasSize(2);
+            assertThat(views).filteredOn(view -> view.getId().equals(completed.getId()))
+                    .singleElement()
+                    .satisfies(view -> {
+                        assertThat(view.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+                        assertThat(view.getCorrectedText()).isEqualTo("Исправленный текст");
+                    });
+            assertThat(views).filteredOn(view -> view.getId().equals(pending.getId()))
+                    .singleElement()
+                    .satisfies(view -> assertThat(view.getCorrectedText()).isNull());
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT original_text FROM correction_task_payloads WHERE task_id = ?",
+                    String.class, pending.getId())).isEqualTo("Тестовый текст");
+        }
+
+        @Test
+        @DisplayName("V8: markAsCompleted должен вернуть число завершенных задач и проверять владельца аренды")
+        void shouldCompleteOnlyOwnLeasedTask() {
+            CorrectionTask task = newTask(TaskStatus.NEW, LocalDateTime.now());
+            taskRepository.insertAll(List.of(task));
+            taskRepository.claimBatch(1, OWNER, 60);
+
+            assertThat(taskRepository.markAsCompleted(task.getId(), "node-b", "Чужой результат", LocalDateTime.now())).isZero();
+            assertThat(taskRepository.markAsFailed(task.getId(), "node-b", "Чужая ошибка", LocalDateTime.now())).isZero();
+            assertThat(taskRepository.markAsCompleted(task.getId(), OWNER, "Исправленный текст", LocalDateTime.now())).isEqualTo(1);
+
+            assertThat(taskRepository.findViewById(task.getId())).get()
+                    .satisfies(view -> {
+                        assertThat(view.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+                        assertThat(view.getCorrectedText()).isEqualTo("Исправленный текст");
+                    });
+        }
+
+        @Test
+        @DisplayName("V8: markAsCompleted должен считать завершенные задачи, а не обновленные тексты")
+        void shouldCountCompletedTaskWithoutPayload() {
+            UUID taskId = UUID.randomUUID();
+            jdbcTemplate.update("""
+                    INSERT INTO correction_tasks (id, status, language, created_at, lease_owner, attempts, version)
+                    VALUES (?, 'PROCESSING', 'RU', NOW(), ?, 1, 0)
+                    """, taskId, OWNER);
+
+            assertThat(taskRepository.markAsCompleted(taskId, OWNER, "Текст", LocalDateTime.now())).isEqualTo(1);
+            assertThat(statusOf(taskId)).isEqualTo("COMPLETED");
+        }
+
+        private String statusOf(UUID taskId) {
+            return jdbcTemplate.queryForObject("SELECT status FROM correction_tasks WHERE id = ?", String.class, taskId);
+        }
+
+        private static CorrectionTask newTask(TaskStatus status, LocalDateTime createdAt) {
+            CorrectionTask task = new CorrectionTask();
+            task.setId(UUID.randomUUID());
+            task.setStatus(status);
+            task.setLanguage(Language.RU);
+            task.setOriginalText("Тестовый текст");
+            task.setCreatedAt(createdAt);
+            return task;
+        }
+    }
+}
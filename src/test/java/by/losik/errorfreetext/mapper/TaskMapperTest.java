@@ -4,11 +4,15 @@ import by.losik.errorfreetext.dto.TaskDto;
 import by.losik.errorfreetext.entity.CorrectionTask;
 import by.losik.errorfreetext.entity.Language;
 import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.repository.projection.TaskView;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,4 +33,22 @@ public class TaskMapperTest {
         assertThat(entity.getLanguage()).isEqualTo(Language.EN);
         assertThat(entity.getStatus()).isEqualTo(TaskStatus.NEW);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldMapViewToGetResponse() {
+        UUID id = UUID.randomUUID();
+        TaskView view = Mockito.mock(TaskView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getStatus()).thenReturn(TaskStatus.COMPLETED);
+        Mockito.when(view.getLanguage()).thenReturn(Language.RU);
+        Mockito.when(view.getCorrectedText()).thenReturn("Привет");
+
+        TaskDto.GetResponse response = taskMapper.toGetResponseFromView(view);
+
+        assertThat(response.getTaskId()).isEqualTo(id);
+        assertThat(response.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(response.getLanguage()).isEqualTo(Language.RU);
+        assertThat(response.getCorrectedText()).isEqualTo("Привет");
+        assertThat(response.getOriginalText()).isNull();
+    }
+}
@@ -0,0 +1,209 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.config.BoundedTaskExecutor;
+import by.losik.errorfreetext.entity.CorrectionTask;
+import by.losik.errorfreetext.external.yandex.client.YandexSpellerCapacity;
+import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты CorrectionTaskScheduler")
+class CorrectionTaskSchedulerTest {
+
+    @Mock
+    private CorrectionTaskRepository taskRepository;
+
+    @Mock
+    private CorrectionTaskProcessor taskProcessor;
+
+    @Mock
+    private YandexSpellerCapacity spellerCapacity;
+
+    @Mock
+    private TaskLeaseManager leaseManager;
+
+    @Mock
+    private PartitionMembership partitionMembership;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService schedulerThread;
+    private BoundedTaskExecutor executor;
+    private CorrectionTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newCachedThreadPool();
+        schedulerThread = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "test-scheduling"));
+        executor = new BoundedTaskExecutor(workers, 3, 0);
+
+        scheduler = new CorrectionTaskScheduler(taskRepository, taskProcessor, spellerCapacity, leaseManager,
+                partitionMembership, executor, new ConcurrentTaskScheduler(schedulerThread));
+        ReflectionTestUtils.setField(scheduler, "batchSize", 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+        schedulerThread.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Должен забирать не больше задач, чем может выполнить исполнитель")
+    void shouldClaimOnlyFreeExecutorCapacity() {
+        when(spellerCapacity.availableRatePermits()).thenReturn(100);
+        when(taskRepository.claimBatch(eq(3), any(), anyDouble())).thenReturn(tasks(3));
+        when(taskProcessor.processAsync(any())).thenAnswer(invocation -> runUntil(new CountDownLatch(1)));
+
+        int dispatched = scheduler.dispatchBatch();
+
+        assertThat(dispatched).isEqualTo(3);
+        assertThat(scheduler.freeCapacity()).isZero();
+        assertThat(scheduler.dispatchBatch()).isZero();
+        verify(taskRepository).claimBatch(eq(3), any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Должен учитывать доступные разрешения спеллера")
+    void shouldRespectSpellerPermits() {
+        when(spellerCapacity.availableRatePermits()).thenReturn(0);
+
+        assertThat(scheduler.dispatchBatch()).isZero();
+        verify(taskRepository, never()).claimBatch(anyInt(), any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Должен сразу забрать новую задачу после завершения предыдущей")
+    void shouldRefillCapacityOnCompletion() {
+        CountDownLatch finishing = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicReference<String> refillThread = new AtomicReference<>();
+        when(spellerCapacity.availableRatePermits()).thenReturn(100);
+        when(taskRepository.claimBatch(eq(3), any(), anyDouble())).thenReturn(tasks(3));
+        when(taskRepository.claimBatch(eq(1), any(), anyDouble())).thenAnswer(invocation -> {
+            refillThread.set(Thread.currentThread().getName());
+            return tasks(1);
+        });
+        when(taskProcessor.processAsync(any()))
+                .thenAnswer(invocation -> runUntil(finishing))
+                .thenAnswer(invocation -> runUntil(blocked));
+
+        scheduler.dispatchBatch();
+        finishing.countDown();
+
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() ->
+                verify(taskRepository).claimBatch(eq(1), any(), anyDouble()));
+        assertThat(refillThread.get()).isEqualTo("test-scheduling");
+        assertThat(scheduler.freeCapacity()).isZero();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть задачу в очередь, если исполнитель её отклонил")
+    void shouldReleaseRejectedTask() {
+        List<CorrectionTask> claimed = tasks(1);
+        when(leaseManager.getOwner()).thenReturn("node-1");
+        when(spellerCapacity.availableRatePermits()).thenReturn(100);
+        when(taskRepository.claimBatch(eq(3), eq("node-1"), anyDouble())).thenReturn(claimed);
+        when(taskProcessor.processAsync(any())).thenThrow(new TaskRejectedException("full"));
+
+        assertThat(scheduler.dispatchBatch()).isZero();
+        verify(taskRepository).releaseClaim(claimed.get(0).getId(), "node-1");
+        verify(leaseManager).release(claimed.get(0).getId());
+        assertThat(scheduler.freeCapacity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Должен держать аренду задачи, пока она выполняется")
+    void shouldHoldLeaseWhileTaskRuns() {
+        CompletableFuture<Void> running = new CompletableFuture<>();
+        List<CorrectionTask> claimed = tasks(1);
+        when(spellerCapacity.availableRatePermits()).thenReturn(100);
+        when(taskRepository.claimBatch(anyInt(), any(), anyDouble())).thenReturn(claimed).thenReturn(List.of());
+        when(taskProcessor.processAsync(any())).thenReturn(running);
+
+        scheduler.dispatchBatch();
+        verify(leaseManager).hold(claimed.get(0).getId());
+        verify(leaseManager, never()).release(any());
+
+        running.complete(null);
+        verify(leaseManager).release(claimed.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Должен сразу раздать задачи, возвращённые из просроченных аренд")
+    void shouldDispatchReclaimedTasks() {
+        when(leaseManager.reclaimExpired()).thenReturn(2);
+        when(spellerCapacity.availableRatePermits()).thenReturn(100);
+        when(taskRepository.claimBatch(anyInt(), any(), anyDouble())).thenReturn(List.of());
+
+        scheduler.reclaimExpiredTasks();
+
+        verify(taskRepository).claimBatch(eq(3), any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Должен забирать задачи только из своих партиций")
+    void shouldClaimOnlyOwnBuckets() {
+        when(partitionMembership.isEnabled()).thenReturn(true);
+        when(partitionMembership.currentRange()).thenReturn(new PartitionMembership.BucketRange(16, 31));
+        when(spellerCapacity.availableRatePermits()).thenReturn(100);
+        when(taskRepository.claimBatchInBuckets(eq(3), eq(16), eq(31), any(), anyDouble())).thenReturn(List.of());
+
+        scheduler.dispatchBatch();
+
+        verify(taskRepository).claimBatchInBuckets(eq(3), eq(16), eq(31), any(), anyDouble());
+        verify(taskRepository, never()).claimBatch(anyInt(), any(), anyDouble());
+    }
+
+    private CompletableFuture<Void> runUntil(CountDownLatch done) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                done.await();
+                result.complete(null);
+            } catch (InterruptedException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static List<CorrectionTask> tasks(int count) {
+        List<CorrectionTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CorrectionTask task = new CorrectionTask();
+            task.setId(UUID.randomUUID());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,99 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.repository.SchedulerNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты PartitionMembership")
+class PartitionMembershipTest {
+
+    @Mock
+    private SchedulerNodeRepository nodeRepository;
+
+    @Mock
+    private TaskLeaseManager leaseManager;
+
+    @InjectMocks
+    private PartitionMembership membership;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(membership, "enabled", true);
+        ReflectionTestUtils.setField(membership, "nodeTtl", 15000L);
+    }
+
+    @Nested
+    @DisplayName("Тесты распределения партиций")
+    class AssignmentTests {
+
+        @Test
+        @DisplayName("Должен покрыть все партиции без пересечений")
+        void shouldCoverAllBucketsWithoutOverlap() {
+            List<String> nodes = List.of("a", "b", "c");
+
+            List<PartitionMembership.BucketRange> ranges = new ArrayList<>();
+            for (String node : nodes) {
+                ranges.add(PartitionMembership.assign(nodes, node));
+            }
+
+            assertThat(ranges.get(0).first()).isZero();
+            assertThat(ranges.get(0).last() + 1).isEqualTo(ranges.get(1).first());
+            assertThat(ranges.get(1).last() + 1).isEqualTo(ranges.get(2).first());
+            assertThat(ranges.get(2).last()).isEqualTo(PartitionMembership.BUCKET_COUNT - 1);
+        }
+
+        @Test
+        @DisplayName("Должен отдать все партиции единственному узлу")
+        void shouldGiveAllBucketsToSingleNode() {
+            assertThat(PartitionMembership.assign(List.of("a"), "a"))
+                    .isEqualTo(new PartitionMembership.BucketRange(0, PartitionMembership.BUCKET_COUNT - 1));
+        }
+
+        @Test
+        @DisplayName("Не должен выдавать партиции узлам сверх их количества")
+        void shouldLeaveExtraNodesEmpty() {
+            List<String> nodes = new ArrayList<>();
+            for (int i = 0; i <= PartitionMembership.BUCKET_COUNT; i++) {
+                nodes.add(String.format("node-%03d", i));
+            }
+
+            assertThat(PartitionMembership.assign(nodes, nodes.get(nodes.size() - 1)).isEmpty()).isTrue();
+            assertThat(PartitionMembership.assign(nodes, nodes.get(0)).isEmpty()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Не должен выдавать партиции узлу, которого нет среди живых")
+        void shouldLeaveUnlistedNodeEmpty() {
+            assertThat(PartitionMembership.assign(List.of("a", "b"), "c").isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Должен зарегистрировать узел и пересчитать свои партиции")
+    void shouldHeartbeatAndRecalculateRange() {
+        when(leaseManager.getOwner()).thenReturn("b");
+        when(nodeRepository.findLiveNodeIds(anyDouble())).thenReturn(List.of("a", "b"));
+
+        PartitionMembership.BucketRange range = membership.currentRange();
+
+        assertThat(range).isEqualTo(new PartitionMembership.BucketRange(32, 63));
+        verify(nodeRepository).heartbeat("b");
+        verify(nodeRepository).deleteStale(15.0);
+    }
+}
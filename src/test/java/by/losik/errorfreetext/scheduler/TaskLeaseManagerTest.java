@@ -0,0 +1,85 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import by.losik.errorfreetext.repository.projection.ExpiredLeaseCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты TaskLeaseManager")
+class TaskLeaseManagerTest {
+
+    @Mock
+    private CorrectionTaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaseManager, "configuredOwner", "node-1");
+        ReflectionTestUtils.setField(leaseManager, "leaseDuration", 60000L);
+        ReflectionTestUtils.setField(leaseManager, "maxAttempts", 3);
+    }
+
+    @Test
+    @DisplayName("Должен продлевать только удерживаемые аренды")
+    void shouldRenewHeldLeasesOnly() {
+        UUID held = UUID.randomUUID();
+        UUID finished = UUID.randomUUID();
+        leaseManager.hold(held);
+        leaseManager.hold(finished);
+        leaseManager.release(finished);
+        when(taskRepository.renewLeases(List.of(held), "node-1", 60.0)).thenReturn(1);
+
+        assertThat(leaseManager.renewLeases()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Не должен обращаться к базе, если аренд нет")
+    void shouldSkipRenewalWithoutLeases() {
+        assertThat(leaseManager.renewLeases()).isZero();
+        verify(taskRepository, never()).renewLeases(any(), anyString(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Должен возвращать просроченные аренды одним запросом и вернуть число задач в NEW")
+    void shouldReclaimExpiredLeasesInOneQuery() {
+        ExpiredLeaseCounts counts = mock(ExpiredLeaseCounts.class);
+        when(counts.getReclaimed()).thenReturn(2);
+        when(counts.getFailed()).thenReturn(1);
+        when(taskRepository.reclaimExpiredLeases(eq(3), contains("3 attempts"))).thenReturn(counts);
+
+        assertThat(leaseManager.reclaimExpired()).isEqualTo(2);
+
+        verify(taskRepository).reclaimExpiredLeases(eq(3), anyString());
+    }
+
+    @Test
+    @DisplayName("Должен генерировать идентификатор узла, если он не задан")
+    void shouldGenerateOwnerWhenNotConfigured() {
+        ReflectionTestUtils.setField(leaseManager, "configuredOwner", "");
+
+        assertThat(leaseManager.getOwner()).isNotBlank().isEqualTo(leaseManager.getOwner());
+    }
+}
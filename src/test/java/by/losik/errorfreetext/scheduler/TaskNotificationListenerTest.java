@@ -0,0 +1,216 @@
+package by.losik.errorfreetext.scheduler;
+
+import by.losik.errorfreetext.repository.CorrectionTaskBatchRepository;
+import by.losik.errorfreetext.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты TaskNotificationListener")
+class TaskNotificationListenerTest {
+
+    @Mock
+    private DataSourceProperties dataSourceProperties;
+
+    @Mock
+    private CorrectionTaskScheduler taskScheduler;
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = spy(new TaskNotificationListener(dataSourceProperties, taskScheduler, taskService));
+        ReflectionTestUtils.setField(listener, "receiveTimeout", 10);
+        ReflectionTestUtils.setField(listener, "reconnectDelay", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    private static PGNotification notification(String channel, String parameter) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getName()).thenReturn(channel);
+        // The payload of a new-task notification is never read
+        if (parameter != null) {
+            when(notification.getParameter()).thenReturn(parameter);
+        }
+        return notification;
+    }
+
+    @Nested
+    @DisplayName("Тесты обработки уведомлений")
+    class HandleTests {
+
+        @Test
+        @DisplayName("Должен один раз запустить выборку на пачку уведомлений о новых задачах")
+        void shouldDispatchOnceForNewTaskNotifications() {
+            listener.handle(new PGNotification[]{
+                    notification(TaskNotificationListener.CHANNEL, null),
+                    notification(TaskNotificationListener.CHANNEL, null),
+                    notification(TaskNotificationListener.CHANNEL, null)
+            });
+
+            verify(taskScheduler).dispatchBatch();
+            verify(taskService, never()).notifyWaiters(any());
+        }
+
+        @Test
+        @DisplayName("Должен оповестить ожидающих клиентов о завершенной задаче")
+        void shouldNotifyWaitersOfFinishedTask() {
+            UUID taskId = UUID.randomUUID();
+
+            listener.handle(new PGNotification[]{
+                    notification(CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL, taskId.toString())
+            });
+
+            verify(taskService).notifyWaiters(taskId);
+            verify(taskScheduler, never()).dispatchBatch();
+        }
+
+        @Test
+        @DisplayName("Должен продолжить обработку после ошибки оповещения")
+        void shouldContinueAfterNotificationFailure() {
+            UUID taskId = UUID.randomUUID();
+            doThrow(new IllegalStateException("Database unavailable")).when(taskService).notifyWaiters(taskId);
+
+            listener.handle(new PGNotification[]{
+                    notification(CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL, "not-a-uuid"),
+                    notification(CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL, taskId.toString()),
+                    notification(TaskNotificationListener.CHANNEL, null)
+            });
+
+            verify(taskService).notifyWaiters(taskId);
+            verify(taskScheduler).dispatchBatch();
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты подключения")
+    class ConnectionTests {
+
+        @Mock
+        private Connection connection;
+
+        @Mock
+        private PGConnection pgConnection;
+
+        @Mock
+        private Statement statement;
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+            when(connection.createStatement()).thenReturn(statement);
+        }
+
+        @Test
+        @DisplayName("Должен подписаться на оба канала и забрать задачи, созданные без уведомления")
+        void shouldListenAndCatchUpOnConnect() throws Exception {
+            doReturn(connection).when(listener).openConnection();
+            PGNotification[] newTask = {notification(TaskNotificationListener.CHANNEL, null)};
+            when(pgConnection.getNotifications(anyInt()))
+                    .thenReturn(newTask)
+                    .thenAnswer(invocation -> stopListener());
+
+            runListener();
+
+            verify(statement).execute("LISTEN " + TaskNotificationListener.CHANNEL);
+            verify(statement).execute("LISTEN " + CorrectionTaskBatchRepository.TASK_FINISHED_CHANNEL);
+            verify(taskScheduler, times(2)).dispatchBatch();
+            verify(connection).close();
+        }
+
+        @Test
+        @DisplayName("Должен переподключиться после обрыва соединения")
+        void shouldReconnectAfterConnectionLoss() throws Exception {
+            doThrow(new SQLException("Connection refused"))
+                    .doReturn(connection)
+                    .doReturn(connection)
+                    .when(listener).openConnection();
+            when(pgConnection.getNotifications(anyInt()))
+                    .thenThrow(new SQLException("An I/O error occurred while sending to the backend"))
+                    .thenAnswer(invocation -> stopListener());
+
+            runListener();
+
+            verify(listener, times(3)).openConnection();
+            verify(statement, times(2)).execute("LISTEN " + TaskNotificationListener.CHANNEL);
+            verify(taskScheduler, times(2)).dispatchBatch();
+            verify(connection, times(2)).close();
+        }
+
+        @Test
+        @DisplayName("Должен переподключиться, если выборка задач после подключения завершилась ошибкой")
+        void shouldReconnectAfterDispatchFailure() throws Exception {
+            doReturn(connection).when(listener).openConnection();
+            when(taskScheduler.dispatchBatch())
+                    .thenThrow(new IllegalStateException("Executor is shut down"))
+                    .thenReturn(0);
+            when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> stopListener());
+
+            runListener();
+
+            verify(listener, times(2)).openConnection();
+            verify(connection, times(2)).close();
+        }
+    }
+
+    @Test
+    @DisplayName("Не должен переподключаться после остановки")
+    void shouldNotReconnectAfterStop() throws Exception {
+        doAnswer(invocation -> {
+            listener.stop();
+            throw new SQLException("Connection refused");
+        }).when(listener).openConnection();
+
+        runListener();
+
+        verify(listener).openConnection();
+        assertThat(listener.isRunning()).isFalse();
+    }
+
+    private PGNotification[] stopListener() {
+        listener.stop();
+        return null;
+    }
+
+    private void runListener() throws InterruptedException {
+        listener.start();
+        Thread listenerThread = (Thread) ReflectionTestUtils.getField(listener, "listenerThread");
+        listenerThread.join(5000);
+        assertThat(listenerThread.isAlive()).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.repository.CorrectionResultRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты CorrectionResultCache")
+class CorrectionResultCacheTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CorrectionResultRepository resultRepository;
+
+    @InjectMocks
+    private CorrectionResultCache resultCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resultCache, "persistent", true);
+        ReflectionTestUtils.setField(resultCache, "ttlDays", 30);
+        ReflectionTestUtils.setField(resultCache, "purgeBatchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Должен удалять устаревшие результаты порциями, пока они не закончатся")
+    void shouldPurgeInBatchesUntilExhausted() {
+        when(resultRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        resultCache.purgeExpired();
+
+        verify(resultRepository, times(3)).deleteCreatedBefore(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    @DisplayName("Не должен падать при ошибке БД во время очистки")
+    void shouldSurviveDatabaseErrorWhilePurging() {
+        when(resultRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(2)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        resultCache.purgeExpired();
+
+        verify(resultRepository).deleteCreatedBefore(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    @DisplayName("Не должен обращаться к БД, если персистентный уровень отключен")
+    void shouldSkipPurgeWhenNotPersistent() {
+        ReflectionTestUtils.setField(resultCache, "persistent", false);
+
+        resultCache.purgeExpired();
+
+        verifyNoInteractions(resultRepository);
+    }
+}
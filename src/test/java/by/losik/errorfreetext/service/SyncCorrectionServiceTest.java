@@ -0,0 +1,109 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.dto.TaskDto;
+import by.losik.errorfreetext.entity.Language;
+import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.external.yandex.client.YandexSpellerCapacity;
+import by.losik.errorfreetext.external.yandex.exception.YandexSpellerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты SyncCorrectionService")
+class SyncCorrectionServiceTest {
+
+    @Mock
+    private TextCorrectionService textCorrectionService;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private YandexSpellerCapacity spellerCapacity;
+
+    private SyncCorrectionService syncCorrectionService;
+    private TaskDto.CreateRequest request;
+
+    @BeforeEach
+    void setUp() {
+        syncCorrectionService = new SyncCorrectionService(textCorrectionService, taskService, cacheService,
+                spellerCapacity, new SimpleMeterRegistry(), 20, 2);
+        request = new TaskDto.CreateRequest("Превет мир", Language.RU);
+    }
+
+    @Test
+    @DisplayName("Должен исправить короткий текст сразу и сохранить задачу до ответа")
+    void shouldCorrectShortTextInline() {
+        when(spellerCapacity.availableRatePermits()).thenReturn(5);
+        when(textCorrectionService.correctText("Превет мир", Language.RU)).thenReturn("Привет мир");
+
+        TaskDto.GetResponse response = syncCorrectionService.correct(request).orElseThrow();
+
+        assertThat(response.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(response.getCorrectedText()).isEqualTo("Привет мир");
+        assertThat(response.getTaskId()).isNotNull();
+        InOrder inOrder = inOrder(taskService, cacheService);
+        inOrder.verify(taskService).persistCompletedTask(response, "Превет мир");
+        inOrder.verify(cacheService).cacheTask(response);
+    }
+
+    @Test
+    @DisplayName("Должен отказаться от синхронного режима, если задачу не удалось сохранить")
+    void shouldDeferWhenTaskCannotBePersisted() {
+        when(spellerCapacity.availableRatePermits()).thenReturn(5);
+        when(textCorrectionService.correctText("Превет мир", Language.RU)).thenReturn("Привет мир");
+        doThrow(new IllegalStateException("connection reset"))
+                .when(taskService).persistCompletedTask(any(), anyString());
+
+        assertThat(syncCorrectionService.correct(request)).isEmpty();
+        verify(cacheService, never()).cacheTask(any());
+    }
+
+    @Test
+    @DisplayName("Должен поставить длинный текст в очередь")
+    void shouldQueueLongText() {
+        request.setText("Очень длинный текст для синхронного режима");
+
+        assertThat(syncCorrectionService.correct(request)).isEmpty();
+        verify(textCorrectionService, never()).correctText(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Должен поставить задачу в очередь, если у спеллера нет свободной емкости")
+    void shouldQueueWhenSpellerHasNoCapacity() {
+        when(spellerCapacity.availableRatePermits()).thenReturn(0);
+
+        assertThat(syncCorrectionService.correct(request)).isEmpty();
+        verify(textCorrectionService, never()).correctText(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Должен поставить задачу в очередь при ошибке синхронной коррекции")
+    void shouldQueueWhenInlineCorrectionFails() {
+        when(spellerCapacity.availableRatePermits()).thenReturn(5);
+        when(textCorrectionService.correctText(anyString(), any()))
+                .thenThrow(new YandexSpellerException("Yandex Speller API timeout"));
+
+        assertThat(syncCorrectionService.correct(request)).isEmpty();
+        verify(cacheService, never()).cacheTask(any());
+    }
+}
@@ -0,0 +1,64 @@
+package by.losik.errorfreetext.service;
+
+import by.losik.errorfreetext.dto.TaskDto;
+import by.losik.errorfreetext.entity.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты TaskCompletionRegistry")
+class TaskCompletionRegistryTest {
+
+    private final UUID taskId = UUID.randomUUID();
+    private TaskCompletionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TaskCompletionRegistry(new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Должен завершить всех ожидающих задачи")
+    void shouldCompleteAllWaitersOfTask() {
+        CompletableFuture<TaskDto.GetResponse> first = registry.register(taskId);
+        CompletableFuture<TaskDto.GetResponse> second = registry.register(taskId);
+        CompletableFuture<TaskDto.GetResponse> other = registry.register(UUID.randomUUID());
+        TaskDto.GetResponse response = TaskDto.GetResponse.builder()
+                .taskId(taskId)
+                .status(TaskStatus.COMPLETED)
+                .build();
+
+        registry.complete(taskId, response);
+
+        assertThat(first).isCompletedWithValue(response);
+        assertThat(second).isCompletedWithValue(response);
+        assertThat(other).isNotDone();
+        assertThat(registry.hasWaiters(taskId)).isFalse();
+        assertThat(registry.getWaiterCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Должен забыть ожидающего после отмены")
+    void shouldForgetCancelledWaiter() {
+        CompletableFuture<TaskDto.GetResponse> waiter = registry.register(taskId);
+
+        waiter.cancel(false);
+
+        assertThat(registry.hasWaiters(taskId)).isFalse();
+        assertThat(registry.getWaiterCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Не должен падать при завершении задачи без ожидающих")
+    void shouldIgnoreCompletionWithoutWaiters() {
+        registry.complete(taskId, TaskDto.GetResponse.builder().taskId(taskId).build());
+
+        assertThat(registry.getWaiterCount()).isZero();
+    }
+}
@@ -4,9 +4,13 @@ import by.losik.errorfreetext.dto.TaskDto;
 import by.losik.errorfreetext.entity.CorrectionTask;
 import by.losik.errorfreetext.entity.Language;
 import by.losik.errorfreetext.entity.TaskStatus;
+import by.losik.errorfreetext.exception.TaskBatchTooLargeException;
 import by.losik.errorfreetext.exception.TaskNotFoundException;
 import by.losik.errorfreetext.mapper.TaskMapper;
+import by.losik.errorfreetext.repository.CorrectionTaskPayloadRepository;
 import by.losik.errorfreetext.repository.CorrectionTaskRepository;
+import by.losik.errorfreetext.repository.projection.TaskStatusView;
+import by.losik.errorfreetext.repository.projection.TaskView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,11 +22,24 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -35,18 +52,30 @@ class TaskServiceTest {
     @Mock
     private CorrectionTaskRepository taskRepository;
 
+    @Mock
+    private CorrectionTaskPayloadRepository payloadRepository;
     @Mock
     private TaskMapper taskMapper;
     @Mock
     private CacheService cacheService;
+    @Mock
+    private TextCorrectionService textCorrectionService;
+    @Mock
+    private TaskCompletionRegistry completionRegistry;
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
     @InjectMocks
     private TaskService taskService;
 
     @Captor
     private ArgumentCaptor<CorrectionTask> taskCaptor;
 
+    private static final String OWNER = "node-1";
+
     private final UUID testTaskId = UUID.fromString("27ee0fb7-e24b-4650-8cb6-ac81d20c5589");
     private CorrectionTask testTask;
+    private TaskView testView;
     private TaskDto.CreateRequest createRequest;
     private TaskDto.CreateResponse createResponse;
     private TaskDto.GetResponse getResponse;
@@ -60,6 +89,8 @@ class TaskServiceTest {
         testTask.setStatus(TaskStatus.NEW);
         testTask.setCreatedAt(LocalDateTime.now());
 
+        testView = Mockito.mock(TaskView.class);
+
         createRequest = new TaskDto.CreateRequest();
         createRequest.setText("Тестовый текст");
         createRequest.setLanguage(Language.RU);
@@ -135,6 +166,127 @@ class TaskServiceTest {
             assertThat(capturedTask.getOriginalText()).isEqualTo("English text");
             assertThat(capturedTask.getStatus()).isEqualTo(TaskStatus.NEW);
         }
+
+        @Test
+        @DisplayName("Должен сразу завершить задачу при наличии результата в кэше")
+        void shouldCompleteTaskImmediatelyOnCacheHit() {
+            Mockito.when(taskMapper.toEntity(createRequest)).thenReturn(testTask);
+            Mockito.when(textCorrectionService.findCachedCorrection("Тестовый текст", Language.RU))
+                    .thenReturn(Optional.of("Исправленный текст"));
+            Mockito.when(taskRepository.save(any(CorrectionTask.class))).thenReturn(testTask);
+            Mockito.when(taskMapper.toCreateResponse(testTask)).thenReturn(createResponse);
+
+            taskService.createTask(createRequest);
+
+            Mockito.verify(taskRepository).save(taskCaptor.capture());
+            CorrectionTask capturedTask = taskCaptor.getValue();
+            assertThat(capturedTask.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+            assertThat(capturedTask.getCorrectedText()).isEqualTo("Исправленный текст");
+            assertThat(capturedTask.getProcessedAt()).isNotNull();
+            Mockito.verify(payloadRepository).insert(testTaskId, "Тестовый текст", "Исправленный текст");
+        }
+
+        @Test
+        @DisplayName("Должен сохранить текст задачи в отдельную таблицу")
+        void shouldStorePayloadSeparately() {
+            Mockito.when(taskMapper.toEntity(createRequest)).thenReturn(testTask);
+            Mockito.when(taskRepository.save(any(CorrectionTask.class))).thenReturn(testTask);
+            Mockito.when(taskMapper.toCreateResponse(testTask)).thenReturn(createResponse);
+
+            taskService.createTask(createRequest);
+
+            Mockito.verify(payloadRepository).insert(testTaskId, "Тестовый текст", null);
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты пакетного создания задач")
+    class CreateTasksTests {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(taskService, "maxBatchSize", 5);
+            ReflectionTestUtils.setField(taskService, "insertBatchSize", 2);
+            Mockito.when(taskMapper.toEntity(any(TaskDto.CreateRequest.class)))
+                    .thenAnswer(invocation -> CorrectionTask.builder()
+                            .originalText(invocation.<TaskDto.CreateRequest>getArgument(0).getText())
+                            .language(Language.RU)
+                            .status(TaskStatus.NEW)
+                            .build());
+        }
+
+        @Test
+        @DisplayName("Должен вставлять задачи пакетами и вернуть все идентификаторы")
+        void shouldInsertTasksInBatches() {
+            List<Integer> batchSizes = new ArrayList<>();
+            Mockito.doAnswer(invocation -> batchSizes.add(invocation.<List<?>>getArgument(0).size()))
+                    .when(taskRepository).insertAll(ArgumentMatchers.anyList());
+
+            TaskDto.BatchCreateResponse response = taskService.createTasks(
+                    Stream.of(createRequest, createRequest, createRequest));
+
+            assertThat(response.getTaskIds()).hasSize(3).doesNotHaveDuplicates().doesNotContainNull();
+            assertThat(batchSizes).containsExactly(2, 1);
+            Mockito.verify(transactionManager).getTransaction(any());
+            Mockito.verify(taskRepository, Mockito.never()).save(any());
+            Mockito.verifyNoInteractions(payloadRepository, textCorrectionService);
+        }
+
+        @Test
+        @DisplayName("Должен отклонить пакет сверх допустимого размера")
+        void shouldRejectTooLargeBatch() {
+            Stream<TaskDto.CreateRequest> requests = Stream.generate(() -> createRequest).limit(6);
+
+            assertThatThrownBy(() -> taskService.createTasks(requests))
+                    .isInstanceOf(TaskBatchTooLargeException.class)
+                    .hasMessageContaining("5");
+            Mockito.verifyNoInteractions(transactionManager);
+            Mockito.verify(taskRepository, Mockito.never()).insertAll(ArgumentMatchers.anyList());
+        }
+
+        @Test
+        @DisplayName("Должен прочитать весь пакет до открытия транзакции")
+        void shouldReadRequestsBeforeTransaction() {
+            List<String> events = new ArrayList<>();
+            Mockito.when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+                events.add("transaction");
+                return null;
+            });
+
+            taskService.createTasks(Stream.of(createRequest, createRequest, createRequest)
+                    .peek(request -> events.add("read")));
+
+            assertThat(events).containsExactly("read", "read", "read", "transaction");
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты сохранения синхронно исправленной задачи")
+    class PersistCompletedTaskTests {
+
+        @Test
+        @DisplayName("Должен сохранить синхронно исправленную задачу как COMPLETED")
+        void shouldPersistCompletedTask() {
+            TaskDto.GetResponse completed = TaskDto.GetResponse.builder()
+                    .taskId(testTaskId)
+                    .status(TaskStatus.COMPLETED)
+                    .correctedText("Исправленный текст")
+                    .language(Language.RU)
+                    .createdAt(LocalDateTime.now())
+                    .processedAt(LocalDateTime.now())
+                    .build();
+
+            taskService.persistCompletedTask(completed, "Тестовый текст");
+
+            Mockito.verify(taskRepository).insertAll(ArgumentMatchers.argThat(tasks -> {
+                CorrectionTask task = tasks.get(0);
+                return tasks.size() == 1
+                        && task.getId().equals(testTaskId)
+                        && task.getStatus() == TaskStatus.COMPLETED
+                        && task.getOriginalText().equals("Тестовый текст")
+                        && task.getCorrectedText().equals("Исправленный текст");
+            }));
+        }
     }
 
     @Nested
@@ -145,8 +297,8 @@ class TaskServiceTest {
         @DisplayName("Должен успешно получить существующую задачу")
         void shouldGetExistingTaskSuccessfully() {
              
-            Mockito.when(taskRepository.findById(testTaskId)).thenReturn(Optional.of(testTask));
-            Mockito.when(taskMapper.toGetResponse(testTask)).thenReturn(getResponse);
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(getResponse);
 
              
             TaskDto.GetResponse response = taskService.getTask(testTaskId);
@@ -160,8 +312,31 @@ class TaskServiceTest {
             assertThat(response.getCorrectedText()).isNull();
             assertThat(response.getErrorMessage()).isNull();
 
-            Mockito.verify(taskRepository).findById(testTaskId);
-            Mockito.verify(taskMapper).toGetResponse(testTask);
+            Mockito.verify(taskRepository).findViewById(testTaskId);
+            Mockito.verify(taskMapper).toGetResponseFromView(testView);
+        }
+
+        @Test
+        @DisplayName("Должен читать задачу проекцией, не загружая сущность и тексты")
+        void shouldReadTaskThroughProjection() {
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(getResponse);
+
+            taskService.getTask(testTaskId);
+
+            Mockito.verify(taskRepository, Mockito.never()).findById(any());
+            Mockito.verifyNoInteractions(payloadRepository);
+        }
+
+        @Test
+        @DisplayName("Должен возвращать только статус задачи без текстов")
+        void shouldReturnStatusOnly() {
+            TaskStatusView statusView = Mockito.mock(TaskStatusView.class);
+            Mockito.when(taskRepository.findStatusById(testTaskId)).thenReturn(Optional.of(statusView));
+            Mockito.when(taskMapper.toGetResponseFromStatusView(statusView)).thenReturn(getResponse);
+
+            assertThat(taskService.getTaskStatus(testTaskId)).isSameAs(getResponse);
+            Mockito.verify(taskRepository, Mockito.never()).findViewById(any());
         }
 
         @Test
@@ -169,14 +344,87 @@ class TaskServiceTest {
         void shouldThrowExceptionWhenTaskNotFound() {
              
             UUID nonExistentId = UUID.randomUUID();
-            Mockito.when(taskRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+            Mockito.when(taskRepository.findViewById(nonExistentId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> taskService.getTask(nonExistentId))
                     .isInstanceOf(TaskNotFoundException.class)
                     .hasMessageContaining("Task with id: " + nonExistentId + " not found");
 
-            Mockito.verify(taskRepository).findById(nonExistentId);
-            Mockito.verify(taskMapper, Mockito.never()).toGetResponse(any());
+            Mockito.verify(taskRepository).findViewById(nonExistentId);
+            Mockito.verify(taskMapper, Mockito.never()).toGetResponseFromView(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты пакетного получения состояний")
+    class TaskStatusesTests {
+
+        private final UUID cachedId = UUID.randomUUID();
+        private final UUID missingId = UUID.randomUUID();
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(taskService, "maxStatusIds", 3);
+        }
+
+        @Test
+        @DisplayName("Должен запрашивать из БД только задачи, которых нет в кэше")
+        void shouldQueryDatabaseOnlyForCacheMisses() {
+            TaskDto.GetResponse cached = TaskDto.GetResponse.builder()
+                    .taskId(cachedId)
+                    .status(TaskStatus.COMPLETED)
+                    .build();
+            Map<UUID, TaskDto.GetResponse> cachedTasks = new HashMap<>(Map.of(cachedId, cached));
+            Mockito.when(cacheService.getCachedTasks(any())).thenReturn(cachedTasks);
+            Mockito.when(taskRepository.findViewsByIds(List.of(testTaskId, missingId))).thenReturn(List.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(getResponse);
+
+            TaskDto.StatusResponse response = taskService.getTaskStatuses(
+                    List.of(cachedId, testTaskId, missingId, cachedId));
+
+            assertThat(response.getTasks()).containsExactly(cached, getResponse);
+            assertThat(response.getNotFound()).containsExactly(missingId);
+        }
+
+        @Test
+        @DisplayName("Должен кэшировать только задачи в финальном статусе")
+        void shouldCacheOnlyFinalStates() {
+            TaskDto.GetResponse completed = TaskDto.GetResponse.builder()
+                    .taskId(cachedId)
+                    .status(TaskStatus.COMPLETED)
+                    .build();
+            TaskView completedView = Mockito.mock(TaskView.class);
+            Mockito.when(cacheService.getCachedTasks(any())).thenReturn(new HashMap<>());
+            Mockito.when(taskRepository.findViewsByIds(any())).thenReturn(List.of(testView, completedView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(getResponse);
+            Mockito.when(taskMapper.toGetResponseFromView(completedView)).thenReturn(completed);
+
+            taskService.getTaskStatuses(List.of(testTaskId, cachedId));
+
+            Mockito.verify(cacheService).cacheTask(completed);
+            Mockito.verify(cacheService, Mockito.never()).cacheTask(getResponse);
+        }
+
+        @Test
+        @DisplayName("Не должен обращаться к БД, если все задачи найдены в кэше")
+        void shouldSkipDatabaseWhenAllCached() {
+            Mockito.when(cacheService.getCachedTasks(any()))
+                    .thenReturn(new HashMap<>(Map.of(testTaskId, getResponse)));
+
+            TaskDto.StatusResponse response = taskService.getTaskStatuses(List.of(testTaskId));
+
+            assertThat(response.getTasks()).containsExactly(getResponse);
+            Mockito.verify(taskRepository, Mockito.never()).findViewsByIds(any());
+        }
+
+        @Test
+        @DisplayName("Должен отклонить запрос сверх допустимого числа идентификаторов")
+        void shouldRejectTooManyIds() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+            assertThatThrownBy(() -> taskService.getTaskStatuses(ids))
+                    .isInstanceOf(TaskBatchTooLargeException.class);
+            Mockito.verifyNoInteractions(cacheService);
         }
     }
 
@@ -190,16 +438,18 @@ class TaskServiceTest {
             String correctedText = "Исправленный текст";
             Mockito.when(taskRepository.markAsCompleted(
                             ArgumentMatchers.eq(testTaskId),
+                            ArgumentMatchers.eq(OWNER),
                             ArgumentMatchers.eq(correctedText),
                             any(LocalDateTime.class)))
                     .thenReturn(1);
 
-            boolean result = taskService.markTaskAsCompleted(testTaskId, correctedText);
+            boolean result = taskService.markTaskAsCompleted(testTaskId, OWNER, correctedText);
 
             assertThat(result).isTrue();
 
             Mockito.verify(taskRepository).markAsCompleted(
                     ArgumentMatchers.eq(testTaskId),
+                    ArgumentMatchers.eq(OWNER),
                     ArgumentMatchers.eq(correctedText),
                     any(LocalDateTime.class)
             );
@@ -213,15 +463,17 @@ class TaskServiceTest {
             String errorMessage = "Ошибка обработки";
             Mockito.when(taskRepository.markAsFailed(
                             ArgumentMatchers.eq(testTaskId),
+                            ArgumentMatchers.eq(OWNER),
                             ArgumentMatchers.eq(errorMessage),
                             any(LocalDateTime.class)))
                     .thenReturn(1);
 
-            boolean result = taskService.markTaskAsFailed(testTaskId, errorMessage);
+            boolean result = taskService.markTaskAsFailed(testTaskId, OWNER, errorMessage);
 
             assertThat(result).isTrue();
             Mockito.verify(taskRepository).markAsFailed(
                     ArgumentMatchers.eq(testTaskId),
+                    ArgumentMatchers.eq(OWNER),
                     ArgumentMatchers.eq(errorMessage),
                     any(LocalDateTime.class)
             );
@@ -235,15 +487,17 @@ class TaskServiceTest {
             String correctedText = "Исправленный текст";
             Mockito.when(taskRepository.markAsCompleted(
                             ArgumentMatchers.eq(testTaskId),
+                            ArgumentMatchers.eq(OWNER),
                             ArgumentMatchers.eq(correctedText),
                             any(LocalDateTime.class)))
                     .thenReturn(0);
 
-            boolean result = taskService.markTaskAsCompleted(testTaskId, correctedText);
+            boolean result = taskService.markTaskAsCompleted(testTaskId, OWNER, correctedText);
 
             assertThat(result).isFalse();
             Mockito.verify(taskRepository).markAsCompleted(
                     ArgumentMatchers.eq(testTaskId),
+                    ArgumentMatchers.eq(OWNER),
                     ArgumentMatchers.eq(correctedText),
                     any(LocalDateTime.class)
             );
@@ -257,15 +511,17 @@ class TaskServiceTest {
             String errorMessage = "Ошибка";
             Mockito.when(taskRepository.markAsFailed(
                             ArgumentMatchers.eq(testTaskId),
+                            ArgumentMatchers.eq(OWNER),
                             ArgumentMatchers.eq(errorMessage),
                             any(LocalDateTime.class)))
                     .thenReturn(0);
 
-            boolean result = taskService.markTaskAsFailed(testTaskId, errorMessage);
+            boolean result = taskService.markTaskAsFailed(testTaskId, OWNER, errorMessage);
 
             assertThat(result).isFalse();
             Mockito.verify(taskRepository).markAsFailed(
                     ArgumentMatchers.eq(testTaskId),
+                    ArgumentMatchers.eq(OWNER),
                     ArgumentMatchers.eq(errorMessage),
                     any(LocalDateTime.class)
             );
@@ -283,15 +539,17 @@ class TaskServiceTest {
         void shouldHandleNullCorrectedTextWhenMarkingAsCompleted() {
             Mockito.when(taskRepository.markAsCompleted(
                             ArgumentMatchers.eq(testTaskId),
+                            ArgumentMatchers.eq(OWNER),
                             ArgumentMatchers.isNull(),
                             ArgumentMatchers.any(LocalDateTime.class)))
                     .thenReturn(0);
 
-            boolean result = taskService.markTaskAsCompleted(testTaskId, null);
+            boolean result = taskService.markTaskAsCompleted(testTaskId, OWNER, null);
 
             assertThat(result).isFalse();
             Mockito.verify(taskRepository).markAsCompleted(
                     ArgumentMatchers.eq(testTaskId),
+                    ArgumentMatchers.eq(OWNER),
                     ArgumentMatchers.isNull(),
                     ArgumentMatchers.any(LocalDateTime.class)
             );
@@ -304,15 +562,17 @@ class TaskServiceTest {
             String emptyText = "";
             Mockito.when(taskRepository.markAsCompleted(
                             ArgumentMatchers.eq(testTaskId),
+                            ArgumentMatchers.eq(OWNER),
                             ArgumentMatchers.eq(emptyText),
                             ArgumentMatchers.any(LocalDateTime.class)))
                     .thenReturn(1);
 
-            boolean result = taskService.markTaskAsCompleted(testTaskId, emptyText);
+            boolean result = taskService.markTaskAsCompleted(testTaskId, OWNER, emptyText);
 
             assertThat(result).isTrue();
             Mockito.verify(taskRepository).markAsCompleted(
                     ArgumentMatchers.eq(testTaskId),
+                    ArgumentMatchers.eq(OWNER),
                     ArgumentMatchers.eq(emptyText),
                     ArgumentMatchers.any(LocalDateTime.class)
             );
@@ -321,6 +581,114 @@ class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Тесты ожидания завершения задачи")
+    class AwaitTaskTests {
+
+        @Test
+        @DisplayName("Должен сразу вернуть завершенную задачу без ожидания")
+        void shouldReturnFinishedTaskImmediately() {
+            TaskDto.GetResponse completed = TaskDto.GetResponse.builder()
+                    .taskId(testTaskId)
+                    .status(TaskStatus.COMPLETED)
+                    .build();
+            Mockito.when(completionRegistry.register(testTaskId)).thenReturn(new CompletableFuture<>());
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(completed);
+
+            CompletableFuture<TaskDto.GetResponse> result = taskService.awaitTask(testTaskId, 10_000);
+
+            assertThat(result).isCompletedWithValue(completed);
+        }
+
+        @Test
+        @DisplayName("Должен вернуть текущее состояние по истечении времени ожидания")
+        void shouldReturnCurrentStateOnTimeout() throws Exception {
+            Mockito.when(completionRegistry.register(testTaskId)).thenReturn(new CompletableFuture<>());
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(getResponse);
+
+            CompletableFuture<TaskDto.GetResponse> result = taskService.awaitTask(testTaskId, 50);
+
+            assertThat(result).isNotDone();
+            assertThat(result.get(1, TimeUnit.SECONDS).getStatus()).isEqualTo(TaskStatus.NEW);
+        }
+
+        @Test
+        @DisplayName("Должен снять ожидание, если задача не найдена")
+        void shouldCancelWaiterWhenTaskNotFound() {
+            CompletableFuture<TaskDto.GetResponse> waiter = new CompletableFuture<>();
+            Mockito.when(completionRegistry.register(testTaskId)).thenReturn(waiter);
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> taskService.awaitTask(testTaskId, 10_000))
+                    .isInstanceOf(TaskNotFoundException.class);
+            assertThat(waiter).isCancelled();
+        }
+
+        @Test
+        @DisplayName("Должен уведомить ожидающих после отметки COMPLETED")
+        void shouldNotifyWaitersWhenCompleted() {
+            TaskDto.GetResponse completed = TaskDto.GetResponse.builder()
+                    .taskId(testTaskId)
+                    .status(TaskStatus.COMPLETED)
+                    .build();
+            Mockito.when(taskRepository.markAsCompleted(
+                            ArgumentMatchers.eq(testTaskId), ArgumentMatchers.eq(OWNER), any(), any()))
+                    .thenReturn(1);
+            Mockito.when(completionRegistry.hasWaiters(testTaskId)).thenReturn(true);
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(completed);
+
+            taskService.markTaskAsCompleted(testTaskId, OWNER, "Текст");
+
+            Mockito.verify(taskRepository).notifyTaskFinished(testTaskId);
+            Mockito.verify(completionRegistry).complete(testTaskId, completed);
+        }
+
+        @Test
+        @DisplayName("Должен проверять ожидающих только после фиксации транзакции")
+        void shouldNotifyWaitersAfterCommit() {
+            TaskDto.GetResponse failed = TaskDto.GetResponse.builder()
+                    .taskId(testTaskId)
+                    .status(TaskStatus.FAILED)
+                    .build();
+            Mockito.when(taskRepository.markAsFailed(
+                            ArgumentMatchers.eq(testTaskId), ArgumentMatchers.eq(OWNER), any(), any()))
+                    .thenReturn(1);
+            Mockito.when(completionRegistry.hasWaiters(testTaskId)).thenReturn(true);
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(failed);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                taskService.markTaskAsFailed(testTaskId, OWNER, "Ошибка");
+
+                Mockito.verify(taskRepository).notifyTaskFinished(testTaskId);
+                Mockito.verify(completionRegistry, Mockito.never()).hasWaiters(any());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            Mockito.verify(completionRegistry).complete(testTaskId, failed);
+        }
+
+        @Test
+        @DisplayName("Не должен читать задачу, если никто не ждет ее завершения")
+        void shouldSkipNotificationWithoutWaiters() {
+            Mockito.when(taskRepository.markAsFailed(
+                            ArgumentMatchers.eq(testTaskId), ArgumentMatchers.eq(OWNER), any(), any()))
+                    .thenReturn(1);
+
+            taskService.markTaskAsFailed(testTaskId, OWNER, "Ошибка");
+
+            Mockito.verify(taskRepository, Mockito.never()).findViewById(any());
+            Mockito.verify(completionRegistry, Mockito.never()).complete(any(), any());
+        }
+    }
+
     @Nested
     @DisplayName("Тесты интеграции с маппером")
     class MapperIntegrationTests {
@@ -339,14 +707,14 @@ class TaskServiceTest {
         }
 
         @Test
-        @DisplayName("Должен правильно маппить Entity в GetResponse")
-        void shouldMapEntityToGetResponse() {
-            Mockito.when(taskRepository.findById(testTaskId)).thenReturn(Optional.of(testTask));
-            Mockito.when(taskMapper.toGetResponse(testTask)).thenReturn(getResponse);
+        @DisplayName("Должен правильно маппить проекцию в GetResponse")
+        void shouldMapViewToGetResponse() {
+            Mockito.when(taskRepository.findViewById(testTaskId)).thenReturn(Optional.of(testView));
+            Mockito.when(taskMapper.toGetResponseFromView(testView)).thenReturn(getResponse);
 
             taskService.getTask(testTaskId);
 
-            Mockito.verify(taskMapper).toGetResponse(testTask);
+            Mockito.verify(taskMapper).toGetResponseFromView(testView);
         }
     }
 }
\ No newline at end of file
@@ -1,24 +1,36 @@
 package by.losik.errorfreetext.service;
 
+import by.losik.errorfreetext.config.YandexSpellerConfig;
 import by.losik.errorfreetext.entity.Language;
-import by.losik.errorfreetext.external.yandex.client.YandexSpellerClient;
+import by.losik.errorfreetext.external.yandex.client.YandexSpellerBatcher;
 import by.losik.errorfreetext.external.yandex.model.SpellResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,7 +38,16 @@ import static org.mockito.Mockito.when;
 class TextCorrectionServiceTest {
 
     @Mock
-    private YandexSpellerClient spellerClient;
+    private YandexSpellerBatcher spellerBatcher;
+
+    @Mock
+    private CorrectionResultCache resultCache;
+
+    @Mock
+    private ChunkResultCache chunkCache;
+
+    @Spy
+    private YandexSpellerConfig spellerConfig = new YandexSpellerConfig();
 
     @InjectMocks
     private TextCorrectionService textCorrectionService;
@@ -38,8 +59,10 @@ class TextCorrectionServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(textCorrectionService, "MAX_CHUNK_SIZE", MAX_CHUNK_SIZE);
-        ReflectionTestUtils.setField(textCorrectionService, "IGNORE_URLS", IGNORE_URLS);
-        ReflectionTestUtils.setField(textCorrectionService, "IGNORE_DIGITS", IGNORE_DIGITS);
+        ReflectionTestUtils.setField(textCorrectionService, "ignoreUrls", IGNORE_URLS);
+        ReflectionTestUtils.setField(textCorrectionService, "ignoreDigits", IGNORE_DIGITS);
+        spellerConfig.setMaxPostTextLength(MAX_CHUNK_SIZE);
+        ReflectionTestUtils.setField(textCorrectionService, "maxParallelRequests", 4);
     }
 
     @Nested
@@ -54,14 +77,18 @@ class TextCorrectionServiceTest {
 
             SpellResult error1 = new SpellResult();
             error1.setWord("вс");
+            error1.setPos(25);
+            error1.setLen(2);
             error1.setSuggestions(List.of("все"));
 
             SpellResult error2 = new SpellResult();
             error2.setWord("спасиба");
+            error2.setPos(36);
+            error2.setLen(7);
             error2.setSuggestions(List.of("спасибо"));
 
-            when(spellerClient.checkTextsWithRetry(anyList(), eq("ru"), anyInt()))
-                    .thenReturn(List.of(List.of(error1, error2)));
+            when(spellerBatcher.submit(anyList(), eq("ru"), anyInt()))
+                    .thenReturn(CompletableFuture.completedFuture(List.of(List.of(error1, error2))));
 
             String correctedText = textCorrectionService.correctText(originalText, language);
 
@@ -73,6 +100,122 @@ class TextCorrectionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Тесты кэша чанков")
+    class ChunkCacheTests {
+
+        @Test
+        @DisplayName("Должен отправлять в API только чанки, отсутствующие в кэше")
+        void shouldSendOnlyCacheMisses() {
+            ReflectionTestUtils.setField(textCorrectionService, "MAX_CHUNK_SIZE", 15);
+            String text = "Первый кусок. Второй кусок.";
+
+            when(chunkCache.get(argThat(chunk -> chunk.toString().equals("Первый кусок. ")), eq("ru"), anyInt()))
+                    .thenReturn(Optional.of(new ArrayList<>()));
+            when(spellerBatcher.submit(
+                    argThat(chunks -> chunks.size() == 1 && chunks.get(0).toString().equals("Второй кусок.")),
+                    eq("ru"), anyInt()))
+                    .thenReturn(CompletableFuture.completedFuture(List.of(new ArrayList<>())));
+
+            String correctedText = textCorrectionService.correctText(text, Language.RU);
+
+            assertThat(correctedText).isEqualTo(text);
+            verify(chunkCache).put(argThat(chunk -> chunk.toString().equals("Второй кусок.")),
+                    eq("ru"), anyInt(), eq(List.of()));
+        }
+
+        @Test
+        @DisplayName("Должен вычислять опции для каждого чанка отдельно")
+        void shouldCalculateOptionsPerChunk() {
+            ReflectionTestUtils.setField(textCorrectionService, "MAX_CHUNK_SIZE", 25);
+            String text = "Обычный текст без ссылок. Сайт https://ya.ru";
+
+            when(spellerBatcher.submit(anyList(), eq("ru"), anyInt()))
+                    .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                            List.of(new ArrayList<SpellResult>())));
+
+            textCorrectionService.correctText(text, Language.RU);
+
+            verify(spellerBatcher).submit(
+                    argThat(chunks -> chunks.get(0).toString().startsWith("Обычный")), eq("ru"), eq(0));
+            verify(spellerBatcher).submit(
+                    argThat(chunks -> chunks.get(0).toString().contains("https://ya.ru")), eq("ru"), eq(IGNORE_URLS));
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты параллельной отправки чанков")
+    class ParallelDispatchTests {
+
+        @Test
+        @DisplayName("Должен разбить чанки на запросы и собрать результаты по порядку")
+        void shouldSplitIntoRequestsAndReassembleInOrder() {
+            ReflectionTestUtils.setField(textCorrectionService, "MAX_CHUNK_SIZE", 10);
+            spellerConfig.setMaxPostTextLength(10);
+            ReflectionTestUtils.setField(textCorrectionService, "maxParallelRequests", 2);
+            String text = "adin ras. dva ras. tri ras.";
+
+            when(spellerBatcher.submit(anyList(), eq("en"), anyInt())).thenAnswer(invocation -> {
+                List<? extends CharSequence> chunks = invocation.getArgument(0);
+                List<List<SpellResult>> results = new ArrayList<>();
+                for (CharSequence chunk : chunks) {
+                    String word = chunk.toString().trim().split(" ")[0];
+                    results.add(List.of(SpellResult.builder()
+                            .pos(chunk.toString().indexOf(word))
+                            .len(word.length())
+                            .word(word)
+                            .suggestions(List.of(word + "!"))
+                            .build()));
+                }
+                return CompletableFuture.completedFuture(results);
+            });
+
+            String correctedText = textCorrectionService.correctText(text, Language.EN);
+
+            assertThat(correctedText).isEqualTo("adin! ras. dva! ras. tri! ras.");
+            verify(spellerBatcher, times(3)).submit(anyList(), eq("en"), anyInt());
+        }
+
+        @Test
+        @DisplayName("Должен отправить заполненный запрос до просмотра следующих чанков")
+        void shouldSendFullRequestBeforeScanningRest() {
+            ReflectionTestUtils.setField(textCorrectionService, "MAX_CHUNK_SIZE", 10);
+            spellerConfig.setMaxPostTextLength(10);
+            String text = "adin ras. dva ras. tri ras.";
+
+            when(spellerBatcher.submit(anyList(), eq("en"), anyInt()))
+                    .thenReturn(CompletableFuture.completedFuture(List.of(new ArrayList<>())));
+
+            textCorrectionService.correctText(text, Language.EN);
+
+            InOrder order = inOrder(chunkCache, spellerBatcher);
+            order.verify(chunkCache).get(argThat(chunk -> chunk.toString().startsWith("dva")), eq("en"), anyInt());
+            order.verify(spellerBatcher).submit(
+                    argThat(chunks -> chunks.get(0).toString().startsWith("adin")), eq("en"), anyInt());
+            order.verify(chunkCache).get(argThat(chunk -> chunk.toString().startsWith("tri")), eq("en"), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты ключа кэша результатов")
+    class ResultCacheKeyTests {
+
+        @Test
+        @DisplayName("Должен строить ключ по тексту и языку, а опции определять по чанкам")
+        void shouldKeyByTextAndLanguage() {
+            when(spellerBatcher.submit(anyList(), eq("ru"), anyInt()))
+                    .thenReturn(CompletableFuture.completedFuture(List.of(new ArrayList<>())));
+
+            textCorrectionService.correctText("Текст без цифр", Language.RU);
+            textCorrectionService.correctText("Звоните 112", Language.RU);
+
+            verify(resultCache).key("Текст без цифр", Language.RU, IGNORE_DIGITS | IGNORE_URLS);
+            verify(resultCache).key("Звоните 112", Language.RU, IGNORE_DIGITS | IGNORE_URLS);
+            verify(spellerBatcher).submit(anyList(), eq("ru"), eq(0));
+            verify(spellerBatcher).submit(anyList(), eq("ru"), eq(IGNORE_DIGITS));
+        }
+    }
+
     @Nested
     @DisplayName("Тесты разбивки текста")
     class SplitTextTests {
@@ -135,6 +278,28 @@ class TextCorrectionServiceTest {
             int options = invokeCalculateOptions(text);
             assertThat(options & IGNORE_URLS).isEqualTo(IGNORE_URLS);
         }
+
+        @Test
+        @DisplayName("Должен распознавать URL с www и завершающей пунктуацией")
+        void shouldDetectWwwUrlFollowedByPunctuation() {
+            int options = invokeCalculateOptions("Заходите на www.example.com.");
+            assertThat(options & IGNORE_URLS).isEqualTo(IGNORE_URLS);
+            assertThat(options & IGNORE_DIGITS).isZero();
+        }
+
+        @Test
+        @DisplayName("Не должен включать опции для обычного текста")
+        void shouldNotEnableOptionsForPlainText() {
+            int options = invokeCalculateOptions("Время: утро, место: http без ссылки, www.");
+            assertThat(options).isZero();
+        }
+
+        @Test
+        @DisplayName("Должен включить обе опции при наличии цифр и URL")
+        void shouldEnableBothOptions() {
+            int options = invokeCalculateOptions("Мой телефон 8-800-555-3535, сайт (https://example.com/path?q=1)");
+            assertThat(options).isEqualTo(IGNORE_DIGITS | IGNORE_URLS);
+        }
     }
 
     @Nested
@@ -148,6 +313,8 @@ class TextCorrectionServiceTest {
 
             SpellResult error = new SpellResult();
             error.setWord("вс");
+            error.setPos(6);
+            error.setLen(2);
             error.setSuggestions(List.of("все"));
 
             String result = invokeApplyCorrections(originalText,
@@ -164,6 +331,8 @@ class TextCorrectionServiceTest {
 
             SpellResult error = new SpellResult();
             error.setWord("ВС");
+            error.setPos(0);
+            error.setLen(2);
             error.setSuggestions(List.of("ВСЕ"));
 
             String result = invokeApplyCorrections(originalText,
@@ -180,6 +349,8 @@ class TextCorrectionServiceTest {
 
             SpellResult error = new SpellResult();
             error.setWord("восстановил");
+            error.setPos(15);
+            error.setLen(11);
             error.setSuggestions(List.of("восстановить"));
 
             String result = invokeApplyCorrections(originalText,
@@ -191,11 +362,166 @@ class TextCorrectionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Регрессионный корпус применения исправлений")
+    class ApplyCorrectionsRegressionTests {
+
+        private static final String[] WORDS = {
+                "привет", "превет", "как", "дела", "спасиба", "спасибо", "вс", "все",
+                "hello", "helo", "world", "wrld", "tanks", "thanks", "ВС", "ВСЕ", "а", "и"
+        };
+        private static final String[] SEPARATORS = {" ", ", ", ". ", "! ", "? ", "\n", " - "};
+
+        @Test
+        @DisplayName("Должен давать тот же результат, что и прежняя реализация, на случайном корпусе")
+        void shouldMatchLegacyImplementationOnRandomCorpus() {
+            Random random = new Random(20240301L);
+
+            for (int sample = 0; sample < 500; sample++) {
+                StringBuilder text = new StringBuilder();
+                List<SpellResult> errors = new ArrayList<>();
+
+                int wordCount = 1 + random.nextInt(200);
+                for (int w = 0; w < wordCount; w++) {
+                    String word = WORDS[random.nextInt(WORDS.length)];
+                    if (random.nextInt(3) == 0) {
+                        errors.add(errorAt(text.length(), word, suggestionFor(word, random)));
+                    }
+                    text.append(word).append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+                if (random.nextInt(5) == 0 && !errors.isEmpty()) {
+                    SpellResult stale = errors.get(random.nextInt(errors.size()));
+                    errors.add(errorAt(stale.getPos(), "несовпадение", List.of("x")));
+                }
+                Collections.shuffle(errors, random);
+
+                String original = text.toString();
+                String expected = legacyApplyCorrections(original, List.of(original), List.of(deepCopy(errors)));
+                String actual = invokeApplyCorrections(original, List.of(original), List.of(deepCopy(errors)));
+
+                assertThat(actual).as("sample %d", sample).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Должен давать тот же результат на фиксированных примерах")
+        void shouldMatchLegacyImplementationOnFixedCorpus() {
+            List<String> texts = List.of(
+                    "Привет, как дела? У меня вс хорошо, спасиба!",
+                    "Hello, how are you? I'm fine, tanks!",
+                    "вс вс вс",
+                    "Мой телефон 8-800-555-3535, сайт https://example.com"
+            );
+            List<List<SpellResult>> errors = List.of(
+                    List.of(errorAt(25, "вс", List.of("все")), errorAt(36, "спасиба", List.of("спасибо"))),
+                    List.of(errorAt(30, "tanks", List.of("thanks", "tanks"))),
+                    List.of(errorAt(0, "вс", List.of("все")), errorAt(3, "вс", List.of("всё")),
+                            errorAt(6, "вс", List.of("ВС"))),
+                    List.of(errorAt(4, "телефон", List.of("телефон")), errorAt(33, "https", List.of("http")))
+            );
+
+            for (int i = 0; i < texts.size(); i++) {
+                String original = texts.get(i);
+                assertThat(invokeApplyCorrections(original, List.of(original), List.of(deepCopy(errors.get(i)))))
+                        .isEqualTo(legacyApplyCorrections(original, List.of(original), List.of(deepCopy(errors.get(i)))));
+            }
+        }
+
+        @Test
+        @DisplayName("Должен применять исправления во втором чанке после изменения длины первого")
+        void shouldKeepPositionsAcrossChunks() {
+            String first = "вс хорошо. ";
+            String second = "спасиба!";
+
+            String result = invokeApplyCorrections(first + second, List.of(first, second), List.of(
+                    List.of(errorAt(0, "вс", List.of("все"))),
+                    List.of(errorAt(0, "спасиба", List.of("спасибо")))));
+
+            assertThat(result).isEqualTo("все хорошо. спасибо!");
+        }
+
+        private SpellResult errorAt(int pos, String word, List<String> suggestions) {
+            return SpellResult.builder()
+                    .pos(pos)
+                    .len(word.length())
+                    .word(word)
+                    .suggestions(suggestions)
+                    .build();
+        }
+
+        private List<String> suggestionFor(String word, Random random) {
+            return switch (random.nextInt(4)) {
+                case 0 -> List.of();
+                case 1 -> List.of(word.toUpperCase());
+                default -> List.of(WORDS[random.nextInt(WORDS.length)] + "х");
+            };
+        }
+
+        private List<SpellResult> deepCopy(List<SpellResult> errors) {
+            List<SpellResult> copy = new ArrayList<>();
+            for (SpellResult error : errors) {
+                copy.add(SpellResult.builder()
+                        .pos(error.getPos())
+                        .len(error.getLen())
+                        .word(error.getWord())
+                        .suggestions(error.getSuggestions())
+                        .build());
+            }
+            return copy;
+        }
+
+        private String legacyApplyCorrections(String originalText, List<String> chunks,
+                                              List<List<SpellResult>> allResults) {
+            StringBuilder result = new StringBuilder(originalText);
+            int globalOffset = 0;
+
+            for (int chunkIndex = 0; chunkIndex < Math.min(chunks.size(), allResults.size()); chunkIndex++) {
+                List<SpellResult> errors = allResults.get(chunkIndex);
+
+                if (errors != null && !errors.isEmpty()) {
+                    errors.sort((e1, e2) -> Integer.compare(e2.getPos(), e1.getPos()));
+
+                    for (SpellResult error : errors) {
+                        if (error.getSuggestions() != null && !error.getSuggestions().isEmpty()) {
+                            String wrongWord = error.getWord();
+                            String correctWord = error.getSuggestions().get(0);
+
+                            if (!correctWord.equalsIgnoreCase(wrongWord)) {
+                                int absolutePos = globalOffset + error.getPos();
+                                int length = error.getLen();
+
+                                if (absolutePos + length <= result.length() &&
+                                        result.substring(absolutePos, absolutePos + length).equals(wrongWord)) {
+                                    result.replace(absolutePos, absolutePos + length, correctWord);
+
+                                    int diff = correctWord.length() - length;
+                                    if (diff != 0) {
+                                        for (SpellResult remainingError : errors) {
+                                            if (remainingError.getPos() > error.getPos()) {
+                                                remainingError.setPos(remainingError.getPos() + diff);
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+
+                globalOffset += chunks.get(chunkIndex).length();
+            }
+
+            return result.toString();
+        }
+    }
+
     private List<String> invokeSplitMethod(String text, int maxChunkSize) {
         try {
             var method = TextCorrectionService.class.getDeclaredMethod("splitText", String.class, int.class);
             method.setAccessible(true);
-            return (List<String>) method.invoke(textCorrectionService, text, maxChunkSize);
+            List<? extends CharSequence> chunks =
+                    (List<? extends CharSequence>) method.invoke(textCorrectionService, text, maxChunkSize);
+            return chunks.stream().map(CharSequence::toString).toList();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -203,7 +529,7 @@ class TextCorrectionServiceTest {
 
     private int invokeCalculateOptions(String text) {
         try {
-            var method = TextCorrectionService.class.getDeclaredMethod("calculateOptions", String.class);
+            var method = TextCorrectionService.class.getDeclaredMethod("calculateOptions", CharSequence.class);
             method.setAccessible(true);
             return (int) method.invoke(textCorrectionService, text);
         } catch (Exception e) {